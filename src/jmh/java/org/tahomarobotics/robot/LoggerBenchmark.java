@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot;
+
+import edu.wpi.first.hal.HAL;
+import org.littletonrobotics.junction.Logger;
+import org.openjdk.jmh.annotations.*;
+import org.tahomarobotics.robot.shooter.ShooterState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Logger#recordOutput} with the key patterns used across the robot: constant keys, keys built once and
+ * cached, and keys concatenated on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggerBenchmark {
+    private static final String CONSTANT_KEY = "Shooter/Pivot/TargetAngle";
+    private static final String STATE_KEY = "Shooter/State";
+
+    private final String cachedKey = "Subsystem/" + "Shooter" + "/P99Ms";
+    private final double[] array = new double[8];
+
+    private double value = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HAL.initialize(500, 0);
+        Logger.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        Logger.end();
+    }
+
+    @Benchmark
+    public void constantKeyDouble() {
+        Logger.recordOutput(CONSTANT_KEY, value++);
+    }
+
+    @Benchmark
+    public void cachedKeyDouble() {
+        Logger.recordOutput(cachedKey, value++);
+    }
+
+    @Benchmark
+    public void concatenatedKeyDouble() {
+        Logger.recordOutput("Subsystem/" + getClass().getSimpleName() + "/P99Ms", value++);
+    }
+
+    @Benchmark
+    public void enumValue() {
+        Logger.recordOutput(STATE_KEY, ShooterState.AIMING);
+    }
+
+    @Benchmark
+    public void concatenatedString() {
+        Logger.recordOutput(STATE_KEY, "angle" + value++);
+    }
+
+    @Benchmark
+    public void doubleArray() {
+        array[0] = value++;
+        Logger.recordOutput(CONSTANT_KEY, array);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot;
+
+import org.openjdk.jmh.annotations.*;
+import org.tahomarobotics.robot.util.input.ResponseCurve;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OIBenchmark {
+    @Param({"0.05", "0.5", "-0.95"})
+    public double value;
+
+    private final ResponseCurve translational = new ResponseCurve(ResponseCurve.Shape.POWER, 0.09, 1.3, 1);
+    private final ResponseCurve rotational = new ResponseCurve(ResponseCurve.Shape.POWER, 0.09, 2.0, 1);
+
+    @Benchmark
+    public double desensitizeTranslational() {
+        return OI.desensitizePowerBased(value, 1.3);
+    }
+
+    @Benchmark
+    public double desensitizeRotational() {
+        return OI.desensitizePowerBased(value, 2.0);
+    }
+
+    @Benchmark
+    public double tableTranslational() {
+        return translational.evaluate(value);
+    }
+
+    @Benchmark
+    public double tableRotational() {
+        return rotational.evaluate(value);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Commands;
+import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import org.openjdk.jmh.annotations.*;
+import org.tahomarobotics.robot.util.AbstractSubsystem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single {@link CommandScheduler#run()} with a number of registered subsystems and controller bindings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerBenchmark {
+    @Param({"1", "4", "16"})
+    public int subsystems;
+
+    @Param({"0", "8"})
+    public int bindings;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HAL.initialize(500, 0);
+
+        CommandScheduler scheduler = CommandScheduler.getInstance();
+        scheduler.unregisterAllSubsystems();
+        scheduler.getDefaultButtonLoop().clear();
+
+        for (int i = 0; i < subsystems; i++) {
+            new EmptySubsystem();
+        }
+
+        CommandXboxController controller = new CommandXboxController(0);
+        for (int i = 0; i < bindings; i++) {
+            controller.button(i + 1).onTrue(Commands.none());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        CommandScheduler scheduler = CommandScheduler.getInstance();
+        scheduler.unregisterAllSubsystems();
+        scheduler.getDefaultButtonLoop().clear();
+    }
+
+    @Benchmark
+    public void run() {
+        CommandScheduler.getInstance().run();
+    }
+
+    private static class EmptySubsystem extends AbstractSubsystem {
+        @Override
+        public void subsystemPeriodic() {}
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import edu.wpi.first.hal.HAL;
+import org.littletonrobotics.junction.Logger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link Shooter} state transition against simulated Phoenix 6 devices, and the logging done by the
+ * periodic. Control frames are sent by the IO's own control loop, so a transition only costs handing the targets over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShooterCommandsBenchmark {
+    private ShooterIOTalonFX io;
+    private Shooter shooter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HAL.initialize(500, 0);
+        Logger.start();
+        io = new ShooterIOTalonFX();
+        shooter = new Shooter(io);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        io.close();
+        Logger.end();
+    }
+
+    @Benchmark
+    public void collect() {
+        shooter.collect();
+        shooter.idle();
+    }
+
+    @Benchmark
+    public void aim() {
+        shooter.aim(90);
+        shooter.aim(115);
+    }
+
+    @Benchmark
+    public void fire() {
+        shooter.spinUp();
+        shooter.fire();
+    }
+
+    /** Re-asserting an unchanged state should cost no more than the hand-off. */
+    @Benchmark
+    public void reassert() {
+        shooter.aim(90);
+    }
+
+    @Benchmark
+    public void periodic() {
+        shooter.subsystemPeriodic();
+    }
+}
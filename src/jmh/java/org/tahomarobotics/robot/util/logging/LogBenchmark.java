@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.logging;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Log} calls below the configured level, which should be a single comparison with no allocation
+ * (gc.alloc.rate.norm of zero), against the equivalent tinylog calls which box and build a varargs array first.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogBenchmark {
+    private static final Log.Template TRACE_TEMPLATE = Log.template(org.tinylog.Level.TRACE, "Pivot at {} after {} ms");
+    private static final Log.Template DEBUG_TEMPLATE = Log.template(org.tinylog.Level.DEBUG, "Pivot at {} after {} ms");
+
+    private final String name = "Pivot";
+    private long count = 0;
+    private double value = 0;
+
+    @Benchmark
+    public void filteredPrimitives() {
+        Log.debug("Sample {} of {}", count++, count);
+    }
+
+    @Benchmark
+    public void filteredObjectAndPrimitive() {
+        Log.debug("{} at {}", name, value++);
+    }
+
+    @Benchmark
+    public void filteredTemplate() {
+        DEBUG_TEMPLATE.log(name, value++);
+    }
+
+    @Benchmark
+    public void disabledTemplate() {
+        TRACE_TEMPLATE.log(name, value++);
+    }
+
+    @Benchmark
+    public void tinylogFilteredPrimitives() {
+        org.tinylog.Logger.debug("Sample {} of {}", count++, count);
+    }
+
+    @Benchmark
+    public void tinylogFilteredObjectAndPrimitive() {
+        org.tinylog.Logger.debug("{} at {}", name, value++);
+    }
+}
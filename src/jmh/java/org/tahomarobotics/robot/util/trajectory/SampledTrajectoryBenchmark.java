@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.trajectory;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling a resampled trajectory against WPILib's binary search over its states, for the same path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SampledTrajectoryBenchmark {
+    private static final String SOURCE = """
+        {"config": {"max_velocity": 1.5, "max_acceleration": 2.0}, "orientations": [[0, "UP"], [0.8, "DOWN"]],
+         "start_tangent": [0.0, 0.5], "end_tangent": [0.5, 0.0],
+         "points": [[0.2, 0.3], [0.4, 0.9], [0.1, 1.4], [-0.3, 1.1]], "duration": %s}""";
+
+    private Trajectory trajectory;
+    private SampledTrajectory sampled;
+    private final SampledTrajectory.Sample sample = new SampledTrajectory.Sample();
+    private double time = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        trajectory = TrajectoryGenerator.generateTrajectory(
+            new Spline.ControlVector(new double[]{0.2, 0.0}, new double[]{0.3, 0.5}),
+            List.of(new Translation2d(0.4, 0.9), new Translation2d(0.1, 1.4)),
+            new Spline.ControlVector(new double[]{-0.3, 0.5}, new double[]{1.1, 0.0}),
+            new TrajectoryConfig(1.5, 2.0)
+        );
+        byte[] source = SOURCE.formatted(trajectory.getTotalTimeSeconds()).getBytes(StandardCharsets.UTF_8);
+        sampled = TrajectoryLoader.parse("benchmark", source, 100);
+    }
+
+    private double nextTime() {
+        time += 0.0137;
+        if (time > trajectory.getTotalTimeSeconds()) { time = 0; }
+        return time;
+    }
+
+    @Benchmark
+    public double sampled() {
+        return sampled.sample(nextTime(), sample).x;
+    }
+
+    @Benchmark
+    public double wpilib() {
+        return trajectory.sample(nextTime()).poseMeters.getX();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SampledTrajectory parse() throws Exception {
+        return TrajectoryLoader.parse(
+            "benchmark", SOURCE.formatted(trajectory.getTotalTimeSeconds()).getBytes(StandardCharsets.UTF_8), 100);
+    }
+}
@@ -24,13 +24,22 @@ package org.tahomarobotics.robot;
 
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj2.command.Commands;
-import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import edu.wpi.first.wpilibj.XboxController;
 import org.tahomarobotics.robot.shooter.Shooter;
 import org.tahomarobotics.robot.shooter.ShooterCommands;
+import org.tahomarobotics.robot.shooter.ShooterConstants;
+import org.tahomarobotics.robot.util.LatencyProbe;
+import org.tahomarobotics.robot.util.input.ControllerSnapshot;
+import org.tahomarobotics.robot.util.input.ResponseCurve;
+import org.tahomarobotics.robot.util.input.ResponseCurves;
+import org.tahomarobotics.robot.vision.Vision;
+import org.tahomarobotics.robot.vision.VisionConstants;
+
+import java.io.File;
 
 public class OI {
     private final Shooter shooter = Shooter.getInstance();
+    private final Vision vision = Vision.getInstance();
 
     // -- Constants --
 
@@ -39,9 +48,32 @@ public class OI {
 
     private static final double DEADBAND = 0.09;
     private static final double TRIGGER_DEADBAND = 0.05;
+    private static final double TRIGGER_THRESHOLD = 0.5;
+
+    // -- Response Curves --
+
+    /** Per-driver curve tuning, relative to the deploy directory. Reloaded whenever the file changes. */
+    private static final String RESPONSE_CURVES_FILE = "oi/response_curves.properties";
+    private static final int LEFT_X = 0, LEFT_Y = 1, RIGHT_X = 2;
+
+    private final ResponseCurves curves = new ResponseCurves(
+        new File(RobotConfiguration.DEPLOY_DIR, RESPONSE_CURVES_FILE),
+        new String[]{"leftX", "leftY", "rightX"},
+        new ResponseCurve[]{
+            new ResponseCurve(ResponseCurve.Shape.POWER, DEADBAND, TRANSLATIONAL_SENSITIVITY, 1),
+            new ResponseCurve(ResponseCurve.Shape.POWER, DEADBAND, TRANSLATIONAL_SENSITIVITY, 1),
+            new ResponseCurve(ResponseCurve.Shape.POWER, DEADBAND, ROTATIONAL_SENSITIVITY, 1)
+        }
+    );
+
+    // -- Controllers --
+
+    private final ControllerSnapshot controller = new ControllerSnapshot(0);
+    private final ControllerSnapshot lessImportantController = new ControllerSnapshot(1);
 
-    private final CommandXboxController controller = new CommandXboxController(0);
-    private final CommandXboxController lessImportantController = new CommandXboxController(1);
+    // -- Latency --
+
+    private final LatencyProbe shooterLatency = new LatencyProbe("Shooter", controller, shooter);
 
     public OI(RobotContainer robotContainer) {
         DriverStation.silenceJoystickConnectionWarning(true);
@@ -52,15 +84,33 @@ public class OI {
         setDefaultCommands();
     }
 
+    /**
+     * Snapshots every controller. Call once per loop before the command scheduler runs.
+     */
+    public void update() {
+        controller.update();
+        lessImportantController.update();
+        shooterLatency.update();
+    }
+
     // -- Bindings --
 
     public void configureControllerBindings() {
-      controller.rightTrigger().onTrue(Commands.runOnce(ShooterCommands::Collecting));
+      shooterLatency.bind(controller.axisGreaterThan(XboxController.Axis.kRightTrigger.value, TRIGGER_THRESHOLD),
+                          ShooterCommands.collect(shooter));
 
       // added for testing
-      controller.leftTrigger().onTrue(Commands.runOnce(() -> ShooterCommands.moveToAngle(67)));
+      shooterLatency.bind(controller.axisGreaterThan(XboxController.Axis.kLeftTrigger.value, TRIGGER_THRESHOLD),
+                          ShooterCommands.moveToAngle(shooter, 67));
 
-      controller.rightBumper().onTrue(Commands.runOnce(ShooterCommands::angle90));
+      shooterLatency.bind(controller.button(XboxController.Button.kRightBumper.value), ShooterCommands.angle90(shooter));
+
+      // Placeholder vision geometry or shot map would aim the real robot wrong.
+      if ((VisionConstants.GEOMETRY_MEASURED && ShooterConstants.SHOT_MAP_CALIBRATED) ||
+          RobotConfiguration.MODE != RobotConfiguration.Mode.REAL) {
+          shooterLatency.bind(controller.button(XboxController.Button.kLeftBumper.value),
+                              ShooterCommands.moveToAngle(shooter, vision::getDistanceToTarget));
+      }
     }
 
     public void configureLessImportantControllerBindings() {
@@ -73,20 +123,30 @@ public class OI {
     // -- Inputs --
 
     public double getLeftX() {
-        return -desensitizePowerBased(controller.getLeftX(), TRANSLATIONAL_SENSITIVITY);
+        return -curves.get(LEFT_X).evaluate(controller.getAxis(XboxController.Axis.kLeftX.value));
     }
 
     public double getLeftY() {
-        return -desensitizePowerBased(controller.getLeftY(), TRANSLATIONAL_SENSITIVITY);
+        return -curves.get(LEFT_Y).evaluate(controller.getAxis(XboxController.Axis.kLeftY.value));
     }
 
     public double getRightX() {
-        return -desensitizePowerBased(controller.getRightX(), ROTATIONAL_SENSITIVITY);
+        return -curves.get(RIGHT_X).evaluate(controller.getAxis(XboxController.Axis.kRightX.value));
+    }
+
+    /**
+     * @return FPGA timestamp in seconds of the driver controller snapshot used this loop
+     */
+    public double getInputTimestamp() {
+        return controller.getTimestamp();
     }
 
     // -- Helper Methods --
 
-    public double desensitizePowerBased(double value, double power) {
+    /**
+     * Closed form of the default {@link ResponseCurve.Shape#POWER} curves, kept as the reference for the tables.
+     */
+    public static double desensitizePowerBased(double value, double power) {
         value = MathUtil.applyDeadband(value, DEADBAND);
         value *= Math.pow(Math.abs(value), power - 1);
         return value;
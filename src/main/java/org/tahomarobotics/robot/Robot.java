@@ -25,27 +25,54 @@ package org.tahomarobotics.robot;
 import edu.wpi.first.hal.AllianceStationID;
 import edu.wpi.first.wpilibj.IterativeRobotBase;
 import edu.wpi.first.wpilibj.RobotBase;
-import edu.wpi.first.wpilibj.RobotState;
 import edu.wpi.first.wpilibj.Watchdog;
 import edu.wpi.first.wpilibj.simulation.DriverStationSim;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.Commands;
 import org.littletonrobotics.junction.AutoLogOutputManager;
+import org.littletonrobotics.junction.LogFileUtil;
 import org.littletonrobotics.junction.LoggedRobot;
-import org.littletonrobotics.junction.networktables.NT4Publisher;
+import org.littletonrobotics.junction.wpilog.WPILOGReader;
 import org.littletonrobotics.junction.wpilog.WPILOGWriter;
+import org.tahomarobotics.robot.shooter.ShooterWarmup;
 import org.tahomarobotics.robot.util.AbstractSubsystem;
-import org.tinylog.Logger;
-
+import org.tahomarobotics.robot.util.CommandTracer;
+import org.tahomarobotics.robot.util.LoopMonitor;
+import org.tahomarobotics.robot.util.RuntimeTelemetry;
+import org.tahomarobotics.robot.util.Warmup;
+import org.tahomarobotics.robot.util.logging.AsyncLogWriter;
+import org.tahomarobotics.robot.util.logging.Log;
+import org.tahomarobotics.robot.util.logging.ReplayComparator;
+import org.tahomarobotics.robot.util.logging.TieredNT4Publisher;
+
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class Robot extends LoggedRobot {
+    // Outputs which depend on wall-clock time rather than the log, so never match in replay.
+    private static final String[] REPLAY_IGNORED_OUTPUTS = {
+        "LoopMonitor/", "Logging/", "Subsystem/", "CommandTracer/", "Shooter/Solver/SolveTime/", "Latency/",
+        "Runtime/"
+    };
+    private static final double REPLAY_TOLERANCE = 1e-9;
+    /** Loops captured after the first enable, one second at the default loop period. */
+    private static final int FIRST_ENABLED_LOOPS = 50;
+    /** Where the USB stick is mounted on the roboRIO, text logs go there when one is plugged in. */
+    private static final File USB_DIR = new File("/u");
+    /** System property tinylog.properties reads the text log directory from. */
+    private static final String LOG_DIR_PROPERTY = "robot.log.dir";
 
     private final RobotContainer robotContainer;
+    private final LoopMonitor loopMonitor;
+    private final CommandTracer commandTracer;
+    private final RuntimeTelemetry runtimeTelemetry;
+    private final Warmup warmup;
+    private TieredNT4Publisher ntPublisher;
+    private AsyncLogWriter logWriter;
+    private boolean enabledBefore = false;
 
     // Robot
 
@@ -55,15 +82,24 @@ public class Robot extends LoggedRobot {
 
     public Robot(RobotContainer robotContainer) {
         this.robotContainer = robotContainer;
-        // Disable watchdogs
+        // Disable watchdogs, loop overruns are tracked off-thread by the loop monitor instead
         disableWatchdog(this, IterativeRobotBase.class);
         disableWatchdog(CommandScheduler.getInstance(), CommandScheduler.class);
+        loopMonitor = new LoopMonitor(getPeriod());
 
         // Log various aspects of our robot
-        logCommandScheduler();
-        // TODO: Possibly need a warmup command for record logging.
+        commandTracer = new CommandTracer(CommandScheduler.getInstance());
+        runtimeTelemetry = new RuntimeTelemetry(loopMonitor);
         configureAdvantageKit();
 
+        // Compile the enabled hot paths while disabled, nothing to gain when replaying
+        OI oi = robotContainer.oi;
+        boolean warm = RobotConfiguration.WARMUP_ENABLED && RobotConfiguration.MODE != RobotConfiguration.Mode.REPLAY;
+        warmup = !warm ? null : new Warmup(
+            new ShooterWarmup(),
+            () -> oi.getLeftX() + oi.getLeftY() + oi.getRightX()
+        );
+
         // Simulate Helper Commands
         SmartDashboard.putData(
             "Enable Autonomous Simulation", Commands.runOnce(() -> {
@@ -81,50 +117,80 @@ public class Robot extends LoggedRobot {
             }).ignoringDisable(true)
         );
 
-        Logger.info("--- Robot Initialized ---");
-    }
-
-    private void logCommandScheduler() {
-        CommandScheduler commandScheduler = CommandScheduler.getInstance();
-        commandScheduler.onCommandInitialize(command -> {
-            if (RobotState.isAutonomous()) { Logger.info(command.getName() + " initialized!"); }
-        });
-        commandScheduler.onCommandFinish(command -> {
-            if (RobotState.isAutonomous()) { Logger.info(command.getName() + " finished!"); }
-        });
-        commandScheduler.onCommandInterrupt((command, by) -> {
-            if (RobotState.isAutonomous()) { Logger.warn(command.getName() + " interrupted by {}!", by.map(Command::getName).orElse("Nothing")); }
-        });
+        Log.info("--- Robot Initialized ---");
     }
 
     private void configureAdvantageKit() {
-        org.littletonrobotics.junction.Logger.addDataReceiver(new WPILOGWriter()); // Log to a USB stick ("/U/logs")
-        // TODO: If bandwidth usage is too high, add toggle for NT4 logging.
-        org.littletonrobotics.junction.Logger.addDataReceiver(new NT4Publisher()); // Publish data to NetworkTables
+        if (RobotConfiguration.MODE == RobotConfiguration.Mode.REPLAY) {
+            // Run the log through as fast as possible, writing a suffixed copy and diffing outputs against the original
+            setUseTiming(false);
+            String path = LogFileUtil.findReplayLog();
+            org.littletonrobotics.junction.Logger.setReplaySource(new WPILOGReader(path));
+            org.littletonrobotics.junction.Logger.addDataReceiver(new WPILOGWriter(LogFileUtil.addPathSuffix(path, "_replay")));
+            org.littletonrobotics.junction.Logger.addDataReceiver(new ReplayComparator(REPLAY_TOLERANCE, REPLAY_IGNORED_OUTPUTS));
+            Log.info("Replaying {}", path);
+        } else {
+            // Times each full cycle, logging included, from the tables AdvantageKit hands over
+            org.littletonrobotics.junction.Logger.addDataReceiver(loopMonitor.getCycleReceiver());
+            // Log to a USB stick ("/U/logs") from a separate thread, a stalled stick drops cycles instead of holding up the loop
+            logWriter = new AsyncLogWriter(
+                "WPILOGWriter", new WPILOGWriter(), RobotConfiguration.LOG_WRITER_CAPACITY, AsyncLogWriter.OverflowPolicy.DROP_NEWEST);
+            org.littletonrobotics.junction.Logger.addDataReceiver(logWriter);
+            // Publish data to NetworkTables, high-rate keys stay on disk unless mirroring is switched on from the dashboard
+            ntPublisher = new TieredNT4Publisher(RobotConfiguration.DASHBOARD_PUBLISH_FREQUENCY)
+                .tier("Disk", 0, "/Shooter", "/RealOutputs/Subsystem")
+                .tier("Status", RobotConfiguration.STATUS_PUBLISH_FREQUENCY,
+                      "/SystemStats", "/PowerDistribution", "/RealOutputs/CANBus", "/RealOutputs/LoopMonitor",
+                      "/RealOutputs/Runtime");
+            org.littletonrobotics.junction.Logger.addDataReceiver(ntPublisher);
+        }
 
         org.littletonrobotics.junction.Logger.start();
     }
 
     @Override
     public void robotPeriodic() {
+        loopMonitor.start();
+        robotContainer.oi.update();
         CommandScheduler.getInstance().run();
+        loopMonitor.end();
+
+        loopMonitor.log();
+        runtimeTelemetry.log();
+        commandTracer.log();
+        if (ntPublisher != null) { ntPublisher.log(); }
+        if (logWriter != null) { logWriter.log(); }
     }
 
     // Disabled
 
     @Override
     public void disabledInit() {
-        Logger.warn("--- Disabled ---");
+        Log.warn("--- Disabled ---");
     }
 
     @Override
-    public void disabledPeriodic() {}
+    public void disabledPeriodic() {
+        if (warmup != null) { warmup.update(); }
+    }
+
+    @Override
+    public void disabledExit() {
+        if (!enabledBefore) {
+            // Tagged so logs with and without a warmup, or with one cut short, can be compared.
+            enabledBefore = true;
+            String state = warmup == null ? "Off" : warmup.isSettled() ? "Settled" : "Unsettled";
+            org.littletonrobotics.junction.Logger.recordOutput("LoopMonitor/FirstEnabledLoops/Warmup", state);
+            loopMonitor.captureNext("FirstEnabledLoops", FIRST_ENABLED_LOOPS);
+        }
+        if (warmup != null) { warmup.interrupt(); }
+    }
 
     // Autonomous
 
     @Override
     public void autonomousInit() {
-        Logger.info("--- Autonomous Initialized ---");
+        Log.info("--- Autonomous Initialized ---");
     }
 
     @Override
@@ -134,7 +200,7 @@ public class Robot extends LoggedRobot {
 
     @Override
     public void teleopInit() {
-        Logger.info("--- TeleOp Initialized ---");
+        Log.info("--- TeleOp Initialized ---");
     }
 
     @Override
@@ -144,7 +210,7 @@ public class Robot extends LoggedRobot {
 
     @Override
     public void testInit() {
-        Logger.info("--- Test Initialized ---");
+        Log.info("--- Test Initialized ---");
     }
 
     @Override
@@ -184,15 +250,18 @@ public class Robot extends LoggedRobot {
                     public void disable() {}
                 }
             );
-            Logger.warn("Disabled " + inst.getClass() + "'s watchdog!");
+            Log.warn("Disabled {}'s watchdog!", inst.getClass());
         } catch (NoSuchFieldException | IllegalAccessException ignored) {}
     }
 
     public static void main(String... args) {
+        // tinylog resolves its file location when first used, so this must come before anything logs
+        File logs = USB_DIR.isDirectory() ? new File(USB_DIR, "logs") :
+                    new File(System.getProperty("user.home"), "logs");
+        System.setProperty(LOG_DIR_PROPERTY, logs.getPath());
+
         RobotBase.startRobot(Robot::new);
     }
 
 
-
-
 }
@@ -24,17 +24,56 @@ package org.tahomarobotics.robot;
 
 import edu.wpi.first.wpilibj.DigitalInput;
 import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.RobotBase;
 
 import java.io.File;
 
 public class RobotConfiguration {
+    // -- Mode --
+    public enum Mode {
+        /** Running on the robot. */
+        REAL,
+        /** Simulating on a desktop. */
+        SIM,
+        /** Replaying the log at {@code AKIT_LOG_PATH} through the current code as fast as possible. */
+        REPLAY
+    }
+
+    public static final Mode MODE = RobotBase.isReal() ? Mode.REAL :
+                                    System.getenv("AKIT_LOG_PATH") != null ? Mode.REPLAY : Mode.SIM;
+
     // -- Deploy Directory --
     public static final File DEPLOY_DIR = Filesystem.getDeployDirectory();
 
+    // -- Persistent Storage --
+    /** Kept across deploys, which replace the deploy directory. The working directory off the robot. */
+    public static final File PERSISTENT_DIR = MODE == Mode.REAL ? new File("/home/lvuser") :
+                                              Filesystem.getOperatingDirectory();
+
+    // -- Trajectories --
+    /** Trajectories saved by the BEEF editor. */
+    public static final File TRAJECTORY_DIR = new File(DEPLOY_DIR, "beef");
+    /** Cached samples, cleared by every deploy and rebuilt on the next boot. */
+    public static final File TRAJECTORY_CACHE_DIR = new File(DEPLOY_DIR, "trajectory-cache");
+    /** Samples per second of trajectory time. */
+    public static final double TRAJECTORY_RESOLUTION = 100;
+
     // -- Devices --
     public static final String CANBUS_NAME = "CANivore";
 
     // -- Update Frequencies --
     public static final double ODOMETRY_UPDATE_FREQUENCY = 250;
     public static final double MECHANISM_UPDATE_FREQUENCY = 100;
+
+    // -- NetworkTables Publishing --
+    public static final double DASHBOARD_PUBLISH_FREQUENCY = 10;
+    public static final double STATUS_PUBLISH_FREQUENCY = 2;
+
+    // -- Warmup --
+    /** Switched off to measure the first enabled loops without a warmup, for comparison against those with one. */
+    public static final boolean WARMUP_ENABLED = true;
+
+    // -- Log Writing --
+    /** Cycles buffered in front of the log file, five seconds of USB stalls at the default loop period. */
+    public static final int LOG_WRITER_CAPACITY = 250;
 }
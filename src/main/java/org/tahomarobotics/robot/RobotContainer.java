@@ -24,12 +24,23 @@
 
 package org.tahomarobotics.robot;
 
+import org.tahomarobotics.robot.util.trajectory.SampledTrajectory;
+import org.tahomarobotics.robot.util.trajectory.TrajectoryLoader;
+
+import java.util.Map;
+
 public class RobotContainer implements AutoCloseable {
 
     public final OI oi;
+    /** BEEF trajectories by file name, loaded up front so nothing is parsed once enabled. */
+    public final Map<String, SampledTrajectory> trajectories;
 
 
     public RobotContainer() {
+        trajectories = TrajectoryLoader.loadAll(
+            RobotConfiguration.TRAJECTORY_DIR, RobotConfiguration.TRAJECTORY_CACHE_DIR,
+            RobotConfiguration.TRAJECTORY_RESOLUTION
+        );
         oi = new OI(this);
     }
 
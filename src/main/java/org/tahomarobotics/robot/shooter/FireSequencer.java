@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Tracks a shot through the fire sequence: preparing (pivot moving and flywheel spinning up in parallel), feeding once
+ * both are within tolerance, and the game piece exiting, detected as a dip in flywheel velocity. Flywheel samples are fed
+ * in at the sampler's rate with their latency-compensated timestamps, so exit timing is not quantized to the main loop.
+ */
+final class FireSequencer {
+    private static final String TIME_TO_READY_KEY = "Shooter/Shot/TimeToReady";
+    private static final String TIME_TO_EXIT_KEY = "Shooter/Shot/TimeToExit";
+    private static final String FLYWHEEL_DIP_KEY = "Shooter/Shot/FlywheelDip";
+    private static final String FORCED_KEY = "Shooter/Shot/Forced";
+    private static final String INTERVAL_KEY = "Shooter/Shot/Interval";
+    private static final String COUNT_KEY = "Shooter/Shot/Count";
+
+    private final double exitDip;
+
+    private double prepareTime = Double.NaN;
+    private double readyTime = Double.NaN;
+    private double feedTime = Double.NaN;
+    private double exitTime = Double.NaN;
+    private double lastExitTime = Double.NaN;
+
+    /** Flywheel speed magnitude of the first sample of the feed, NaN until it arrives. */
+    private double feedSpeed = Double.NaN;
+    private double minSpeed = Double.POSITIVE_INFINITY;
+    private boolean forced = false;
+    private long shots = 0;
+
+    // Metrics of the last finished shot.
+    private double timeToReady = Double.NaN;
+    private double timeToExit = Double.NaN;
+    private double flywheelDip = Double.NaN;
+
+    /**
+     * @param exitDip Drop in flywheel speed in rotations per second which marks the game piece exiting
+     */
+    FireSequencer(double exitDip) {
+        this.exitDip = exitDip;
+    }
+
+    /**
+     * Starts a new shot.
+     *
+     * @param now FPGA timestamp in seconds
+     */
+    void prepare(double now) {
+        prepareTime = now;
+        readyTime = Double.NaN;
+        feedTime = Double.NaN;
+        exitTime = Double.NaN;
+    }
+
+    /**
+     * Marks the shot as ready to feed, only the first call per shot counts.
+     *
+     * @param now FPGA timestamp in seconds
+     */
+    void ready(double now) {
+        if (isPreparing() && Double.isNaN(readyTime)) {
+            readyTime = now;
+        }
+    }
+
+    /**
+     * Marks the start of feeding. The flywheel speed the dip is measured from is the first sample at or after this time,
+     * since a forced feed, or a flywheel within tolerance but short of its target, is not at the commanded speed.
+     *
+     * @param now    FPGA timestamp in seconds
+     * @param forced Whether feeding started without the shot being ready
+     */
+    void feed(double now, boolean forced) {
+        feedTime = now;
+        feedSpeed = Double.NaN;
+        minSpeed = Double.POSITIVE_INFINITY;
+        this.forced = forced;
+    }
+
+    /**
+     * Accepts a flywheel velocity sample.
+     *
+     * @param timestamp Latency-compensated FPGA timestamp of the sample in seconds
+     * @param velocity  Flywheel velocity in rotations per second
+     */
+    void sample(double timestamp, double velocity) {
+        if (!isFeeding() || timestamp < feedTime) { return; }
+
+        double speed = Math.abs(velocity);
+        if (Double.isNaN(feedSpeed)) { feedSpeed = speed; }
+        if (speed < minSpeed) { minSpeed = speed; }
+        if (Double.isNaN(exitTime) && feedSpeed - speed >= exitDip) {
+            exitTime = timestamp;
+        }
+    }
+
+    /**
+     * Ends the shot and logs its metrics.
+     */
+    void finish() {
+        if (!isFeeding()) { return; }
+        shots++;
+
+        timeToReady = (Double.isNaN(readyTime) ? feedTime : readyTime) - prepareTime;
+        timeToExit = exitTime - feedTime;
+        flywheelDip = Double.isInfinite(minSpeed) ? 0 : feedSpeed - minSpeed;
+
+        Logger.recordOutput(TIME_TO_READY_KEY, timeToReady);
+        Logger.recordOutput(TIME_TO_EXIT_KEY, timeToExit);
+        Logger.recordOutput(FLYWHEEL_DIP_KEY, flywheelDip);
+        Logger.recordOutput(FORCED_KEY, forced);
+        Logger.recordOutput(INTERVAL_KEY, exitTime - lastExitTime);
+        Logger.recordOutput(COUNT_KEY, shots);
+
+        if (!Double.isNaN(exitTime)) { lastExitTime = exitTime; }
+        prepareTime = Double.NaN;
+        feedTime = Double.NaN;
+    }
+
+    // -- Getters --
+
+    boolean isPreparing() {
+        return !Double.isNaN(prepareTime) && Double.isNaN(feedTime);
+    }
+
+    boolean isReady() {
+        return !Double.isNaN(readyTime);
+    }
+
+    boolean isFeeding() {
+        return !Double.isNaN(feedTime);
+    }
+
+    boolean hasExited() {
+        return !Double.isNaN(exitTime);
+    }
+
+    long getShots() {
+        return shots;
+    }
+
+    /**
+     * @return Seconds from preparing to ready (or to feeding, if forced) of the last finished shot
+     */
+    double getTimeToReady() {
+        return timeToReady;
+    }
+
+    /**
+     * @return Seconds from feeding to exit of the last finished shot, NaN if no exit was seen
+     */
+    double getTimeToExit() {
+        return timeToExit;
+    }
+
+    /**
+     * @return Drop in flywheel speed in rotations per second during the last finished shot
+     */
+    double getFlywheelDip() {
+        return flywheelDip;
+    }
+}
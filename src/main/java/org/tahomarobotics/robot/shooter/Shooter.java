@@ -22,15 +22,401 @@
 
 package org.tahomarobotics.robot.shooter;
 
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.RobotState;
+import edu.wpi.first.wpilibj.Timer;
+import org.littletonrobotics.junction.Logger;
+import org.tahomarobotics.robot.RobotConfiguration;
+import org.tahomarobotics.robot.util.AbstractSubsystem;
+import org.tahomarobotics.robot.util.ExecutionTimeLogger;
+import org.tahomarobotics.robot.util.LatencyProbe;
 
-public class Shooter extends SubsystemBase {
-    private static final Shooter INSTANCE = new Shooter();
+import java.io.File;
+
+import static org.tahomarobotics.robot.shooter.ShooterConstants.*;
+
+public class Shooter extends AbstractSubsystem implements LatencyProbe.Mechanism {
+    private static final Shooter INSTANCE = new Shooter(switch (RobotConfiguration.MODE) {
+        case REAL -> new ShooterIOTalonFX();
+        case SIM -> new ShooterIOSim();
+        // Everything is read back from the log.
+        case REPLAY -> new ShooterIO() {};
+    });
+
+    // -- Log Keys --
+
+    private static final String INPUTS_KEY = "Shooter";
+    private static final String STATE_KEY = "Shooter/State";
+    private static final String PIVOT_TARGET_KEY = "Shooter/Pivot/TargetAngle";
+    private static final String FLYWHEEL_TARGET_KEY = "Shooter/Flywheel/TargetVelocity";
+    private static final String PASSTHROUGH_TARGET_KEY = "Shooter/Passthrough/TargetVelocity";
+    private static final String SHOT_DISTANCE_KEY = "Shooter/Shot/Distance";
+    private static final String SOLVER_CONVERGED_KEY = "Shooter/Solver/Converged";
+    private static final String SOLVER_ITERATIONS_KEY = "Shooter/Solver/Iterations";
+    private static final String SOLVER_UNCONVERGED_KEY = "Shooter/Solver/UnconvergedSolves";
+    private static final String SOLVER_TIME_OF_FLIGHT_KEY = "Shooter/Solver/TimeOfFlight";
+    private static final String SOLVER_HEADING_KEY = "Shooter/Solver/LeadHeading";
+    private static final String RATES_ACTIVE_KEY = "Shooter/Sampler/ActiveRates";
+
+    // -- IO --
+
+    private final ShooterIO io;
+    private final ShooterIOInputsAutoLogged inputs = new ShooterIOInputsAutoLogged();
+
+    // -- State --
+
+    private ShooterState state = ShooterState.IDLE;
+    // The pivot stays neutral until it is first given a target.
+    private double pivotTargetDegrees = Double.NaN;
+    private double flywheelTargetVelocity = 0;
+    private double passthroughTargetVelocity = 0;
+
+    // -- Shot Map --
+
+    private final ShotMap shotMap = ShotMap.load(new File(RobotConfiguration.DEPLOY_DIR, SHOT_MAP_FILE), DEFAULT_SHOT_MAP);
+    private final ShotMap.Shot shot = new ShotMap.Shot();
+    private double shotSpeed = FLYWHEEL_SPEED;
+    private double shotDistance = Double.NaN;
+
+    // -- Shoot On The Move --
+
+    private final ShotSolver solver = new ShotSolver(shotMap, SOLVER_MAX_ITERATIONS, SOLVER_BUDGET_NANOS, SOLVER_TOLERANCE);
+    private final ExecutionTimeLogger solveTimeLogger;
+    private long unconvergedSolves = 0;
+
+    // -- Fire Sequence --
+
+    private final FireSequencer sequencer = new FireSequencer(FIRE_EXIT_DIP);
+
+    // -- Motion Detection --
+
+    // The watched frame is the first one sent at or after this.
+    private double responseSince = Double.NaN;
+    private double responseFrameTimestamp = Double.NaN;
+    private double responseTimestamp = Double.NaN;
+    private boolean awaitingFrame = false;
+    private boolean awaitingMotion = false;
+    private double pivotBaseline, flywheelBaseline, passthroughBaseline;
+
+    Shooter(ShooterIO io) {
+        this(io, "Shooter");
+    }
+
+    /**
+     * @param name Log key prefix for timings recorded outside the periodic, so a shooter which never runs its periodic
+     *             can be told apart from the real one
+     */
+    Shooter(ShooterIO io, String name) {
+        this.io = io;
+        solveTimeLogger = new ExecutionTimeLogger(name + "/Solver/SolveTime");
+    }
 
     public static Shooter getInstance() {
         return INSTANCE;
     }
 
+    // -- State Machine --
+
+    /**
+     * Neutralizes the flywheel and passthrough, the pivot holds its last target.
+     */
+    public void idle() {
+        transition(ShooterState.IDLE, pivotTargetDegrees, 0, 0);
+    }
+
+    /**
+     * Lowers the pivot and runs the flywheel and passthrough inwards.
+     */
+    public void collect() {
+        transition(ShooterState.COLLECTING, PIVOT_LIMIT_MIN, FLYWHEEL_SPEED, PASSTHROUGH_COLLECT_SPEED);
+    }
+
+    /**
+     * Moves the pivot to a shot angle while spinning up the flywheel to the default shot speed.
+     *
+     * @param degrees Target pivot angle in degrees, clamped to the pivot limits
+     */
+    public void aim(double degrees) {
+        aim(degrees, FLYWHEEL_SPEED);
+    }
+
+    /**
+     * Moves the pivot to a shot angle while spinning up the flywheel.
+     *
+     * @param degrees       Target pivot angle in degrees, clamped to the pivot limits
+     * @param flywheelSpeed Flywheel speed magnitude in rotations per second
+     */
+    public void aim(double degrees, double flywheelSpeed) {
+        shotSpeed = flywheelSpeed;
+        transition(ShooterState.AIMING, Math.max(PIVOT_LIMIT_MIN, Math.min(PIVOT_LIMIT_MAX, degrees)), -shotSpeed, 0);
+    }
+
+    /**
+     * Aims from the shot map for a target at the given distance. Cheap enough to call every loop.
+     *
+     * @param meters Distance to the target in meters, NaN (e.g. no vision estimate yet) holds the current aim
+     */
+    public void aimAtDistance(double meters) {
+        if (Double.isNaN(meters)) { return; }
+        shotDistance = meters;
+        shotMap.evaluate(meters, shot);
+        aim(shot.pivotDegrees, shot.flywheelVelocity);
+    }
+
+    /**
+     * Aims for a shot while moving, leading the target by the robot's velocity. Bounded in time, so safe to call every
+     * loop.
+     *
+     * @param dx X offset from the robot to the target on the field in meters
+     * @param dy Y offset from the robot to the target on the field in meters
+     * @param vx X velocity of the robot on the field in meters per second
+     * @param vy Y velocity of the robot on the field in meters per second
+     */
+    public void aimWhileMoving(double dx, double dy, double vx, double vy) {
+        ShotMap.Shot solution = solver.solve(dx, dy, vx, vy);
+        solveTimeLogger.record(solver.getSolveNanos(), System.nanoTime());
+        if (!solver.isConverged()) { unconvergedSolves++; }
+
+        shotDistance = solver.getDistance();
+        aim(solution.pivotDegrees, solution.flywheelVelocity);
+    }
+
+    /**
+     * Spins up the flywheel at the current pivot target.
+     */
+    public void spinUp() {
+        transition(ShooterState.SPINNING_UP, pivotTargetDegrees, -shotSpeed, 0);
+    }
+
+    /**
+     * Starts a shot, spinning up the flywheel in parallel with any pivot motion already underway.
+     */
+    public void prepareShot() {
+        if (state != ShooterState.AIMING && state != ShooterState.SPINNING_UP) {
+            spinUp();
+        }
+        sequencer.prepare(Timer.getFPGATimestamp());
+    }
+
+    /**
+     * Checks the pivot and flywheel against their targets using the latest samples. The pivot is extrapolated by its
+     * velocity over the age of the sample, so a pivot still closing in is not held back by sampling latency.
+     *
+     * @return Whether the shot is ready to feed
+     */
+    public boolean isReadyToFire() {
+        double now = Timer.getFPGATimestamp();
+        double age = now - inputs.latestTimestamp;
+        if (!(age <= MAX_SAMPLE_AGE)) { return false; }
+
+        double pivotDegrees = Units.rotationsToDegrees(getPivotPosition() + getPivotVelocity() * age);
+        boolean pivotReady = Double.isNaN(pivotTargetDegrees) ||
+                             Math.abs(pivotDegrees - pivotTargetDegrees) <= PIVOT_TOLERANCE_DEGREES;
+        boolean flywheelReady = Math.abs(getFlywheelVelocity() - flywheelTargetVelocity) <= FLYWHEEL_TOLERANCE;
+
+        if (pivotReady && flywheelReady) {
+            sequencer.ready(now);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Feeds the passthrough into the flywheel. Prefer {@link ShooterCommands#fire(Shooter)}, which waits for the shot
+     * to be ready first.
+     */
+    public void fire() {
+        double now = Timer.getFPGATimestamp();
+        if (!sequencer.isPreparing()) { sequencer.prepare(now); }
+        sequencer.feed(now, !sequencer.isReady());
+        transition(ShooterState.FIRING, pivotTargetDegrees, -shotSpeed, PASSTHROUGH_FIRE_SPEED);
+    }
+
+    /**
+     * @return Whether the game piece has left the flywheel since the feed started
+     */
+    public boolean hasShotExited() {
+        return sequencer.hasExited();
+    }
+
+    /**
+     * Ends the shot, recording its metrics, and keeps the flywheel spinning for the next one.
+     */
+    public void finishShot() {
+        sequencer.finish();
+        spinUp();
+    }
+
+    private void transition(ShooterState next, double pivotDegrees, double flywheelVelocity, double passthroughVelocity) {
+        state = next;
+        pivotTargetDegrees = pivotDegrees;
+        flywheelTargetVelocity = flywheelVelocity;
+        passthroughTargetVelocity = passthroughVelocity;
+        applyTargets();
+    }
+
+    /**
+     * Applies the current targets, anything unchanged since the last frame is skipped by the deduplication layer.
+     */
+    private void applyTargets() {
+        io.setTargets(Units.degreesToRotations(pivotTargetDegrees), flywheelTargetVelocity, passthroughTargetVelocity);
+    }
+
+    // -- Periodic --
+
     @Override
-    public void periodic() {}
+    public void subsystemPeriodic() {
+        double pivotVelocity = inputs.pivotVelocity;
+        double flywheelVelocity = inputs.flywheelVelocity;
+        double passthroughVelocity = inputs.passthroughVelocity;
+
+        io.updateInputs(inputs);
+        Logger.processInputs(INPUTS_KEY, inputs);
+
+        if (awaitingFrame) { latchFrame(pivotVelocity, flywheelVelocity, passthroughVelocity); }
+        if (awaitingMotion) { detectMotion(); }
+
+        for (int i = 0; i < inputs.sampleCount; i++) {
+            sequencer.sample(inputs.sampleTimestamps[i], inputs.flywheelVelocitySamples[i]);
+        }
+
+        // Signals only run at full rate while the shot depends on them.
+        boolean active = RobotState.isEnabled() && usesControlSignals(state);
+        io.setSignalsActive(active);
+
+        // Re-assert every loop, the IO only sends a frame if a target changed or the device has reset.
+        applyTargets();
+
+        Logger.recordOutput(RATES_ACTIVE_KEY, active);
+        Logger.recordOutput(STATE_KEY, state);
+        Logger.recordOutput(PIVOT_TARGET_KEY, pivotTargetDegrees);
+        Logger.recordOutput(FLYWHEEL_TARGET_KEY, flywheelTargetVelocity);
+        Logger.recordOutput(PASSTHROUGH_TARGET_KEY, passthroughTargetVelocity);
+        Logger.recordOutput(SHOT_DISTANCE_KEY, shotDistance);
+        Logger.recordOutput(SOLVER_CONVERGED_KEY, solver.isConverged());
+        Logger.recordOutput(SOLVER_ITERATIONS_KEY, solver.getIterations());
+        Logger.recordOutput(SOLVER_UNCONVERGED_KEY, unconvergedSolves);
+        Logger.recordOutput(SOLVER_TIME_OF_FLIGHT_KEY, solver.getTimeOfFlight());
+        Logger.recordOutput(SOLVER_HEADING_KEY, solver.getHeading());
+    }
+
+    /**
+     * Latches the first frame sent at or after {@link #responseSince}, and the velocities from just before it was sent as
+     * the baseline its response is measured against. Later frames leave both alone until the response is seen.
+     */
+    private void latchFrame(double pivotVelocity, double flywheelVelocity, double passthroughVelocity) {
+        for (int i = 0; i < inputs.frameCount; i++) {
+            double frame = inputs.frameTimestamps[i];
+            if (frame < responseSince) { continue; }
+
+            pivotBaseline = pivotVelocity;
+            flywheelBaseline = flywheelVelocity;
+            passthroughBaseline = passthroughVelocity;
+            for (int j = 0; j < inputs.sampleCount && inputs.sampleTimestamps[j] < frame; j++) {
+                pivotBaseline = inputs.pivotVelocitySamples[j];
+                flywheelBaseline = inputs.flywheelVelocitySamples[j];
+                passthroughBaseline = inputs.passthroughVelocitySamples[j];
+            }
+
+            responseFrameTimestamp = frame;
+            awaitingFrame = false;
+            awaitingMotion = true;
+            return;
+        }
+    }
+
+    private void detectMotion() {
+        for (int i = 0; i < inputs.sampleCount; i++) {
+            if (inputs.sampleTimestamps[i] < responseFrameTimestamp) { continue; }
+
+            if (Math.abs(inputs.pivotVelocitySamples[i] - pivotBaseline) > PIVOT_MOTION_THRESHOLD ||
+                Math.abs(inputs.flywheelVelocitySamples[i] - flywheelBaseline) > FLYWHEEL_MOTION_THRESHOLD ||
+                Math.abs(inputs.passthroughVelocitySamples[i] - passthroughBaseline) > PASSTHROUGH_MOTION_THRESHOLD) {
+                responseTimestamp = inputs.sampleTimestamps[i];
+                awaitingMotion = false;
+                return;
+            }
+        }
+    }
+
+    private static boolean usesControlSignals(ShooterState state) {
+        return switch (state) {
+            case AIMING, SPINNING_UP, FIRING -> true;
+            case IDLE, COLLECTING -> false;
+        };
+    }
+
+    // -- Getters --
+
+    public ShooterState getState() {
+        return state;
+    }
+
+    /**
+     * @return Target pivot angle in degrees, or NaN if the pivot has not been given a target
+     */
+    public double getPivotTargetDegrees() {
+        return pivotTargetDegrees;
+    }
+
+    /**
+     * @return Field-relative heading in radians the robot should face for the last shoot-on-the-move solution
+     */
+    public double getLeadHeading() {
+        return solver.getHeading();
+    }
+
+    /**
+     * @return FPGA timestamp of the most recent sample in seconds, latency compensated
+     */
+    public double getLatestTimestamp() {
+        return inputs.latestTimestamp;
+    }
+
+    @Override
+    public void awaitResponse(double since) {
+        responseSince = since;
+        responseFrameTimestamp = Double.NaN;
+        responseTimestamp = Double.NaN;
+        awaitingFrame = true;
+        awaitingMotion = false;
+    }
+
+    @Override
+    public double getResponseFrameTimestamp() {
+        return responseFrameTimestamp;
+    }
+
+    @Override
+    public double getResponseTimestamp() {
+        return responseTimestamp;
+    }
+
+    /**
+     * @return Pivot position in rotations
+     */
+    public double getPivotPosition() {
+        return inputs.pivotPosition;
+    }
+
+    /**
+     * @return Pivot velocity in rotations per second
+     */
+    public double getPivotVelocity() {
+        return inputs.pivotVelocity;
+    }
+
+    /**
+     * @return Flywheel velocity in rotations per second
+     */
+    public double getFlywheelVelocity() {
+        return inputs.flywheelVelocity;
+    }
+
+    /**
+     * @return Passthrough velocity in rotations per second
+     */
+    public double getPassthroughVelocity() {
+        return inputs.passthroughVelocity;
+    }
 }
@@ -22,70 +22,90 @@
 
 package org.tahomarobotics.robot.shooter;
 
-import com.ctre.phoenix6.controls.PositionVoltage;
-import com.ctre.phoenix6.controls.VelocityVoltage;
-import com.ctre.phoenix6.hardware.TalonFX;
-import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import org.littletonrobotics.junction.Logger;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+
+import java.util.function.DoubleSupplier;
 
-import static edu.wpi.first.units.Units.Degrees;
-import static edu.wpi.first.units.Units.RotationsPerSecond;
-import static org.tahomarobotics.robot.RobotMap.*;
 import static org.tahomarobotics.robot.shooter.ShooterConstants.*;
 
-public class ShooterCommands extends SubsystemBase {
-    static PositionVoltage posControl = new PositionVoltage(0);
-    static VelocityVoltage velControl = new VelocityVoltage(0);
-    static TalonFX Pivotmotor = new TalonFX(PIVOT_MOTOR);
-    static TalonFX FlywheelMotor = new TalonFX(FLYWHEEL_MOTOR);
-    static TalonFX Passthroughmotor = new TalonFX(PASSTHROUGH_MOTOR);
+/**
+ * Command factories for the {@link Shooter} state machine. Every command requires the shooter, so a new shooter command
+ * interrupts the previous one rather than racing it.
+ */
+public final class ShooterCommands {
+    private ShooterCommands() {}
+
+    public static Command idle(Shooter shooter) {
+        return shooter.runOnce(shooter::idle).withName("Shooter Idle");
+    }
+
+    public static Command collect(Shooter shooter) {
+        return shooter.runOnce(shooter::collect).withName("Shooter Collect");
+    }
+
+    /**
+     * Moves the pivot to the given angle while spinning up the flywheel.
+     *
+     * @param degrees Target angle in degrees
+     */
+    public static Command moveToAngle(Shooter shooter, double degrees) {
+        return shooter.runOnce(() -> shooter.aim(degrees)).withName("Shooter Move To Angle");
+    }
+
+    /**
+     * Continuously aims from the shot map, re-evaluating the target every loop.
+     *
+     * @param distance Supplier of the distance to the target in meters
+     */
+    public static Command moveToAngle(Shooter shooter, DoubleSupplier distance) {
+        return shooter.run(() -> shooter.aimAtDistance(distance.getAsDouble())).withName("Shooter Aim From Shot Map");
+    }
 
-    public static void Collecting() {
-        Pivotmotor.setControl(posControl.withPosition(Degrees.of(PIVOT_LIMIT_MIN)));
-        FlywheelMotor.setControl(velControl.withVelocity(RotationsPerSecond.of(FLYWHEEL_SPEED)));
-        Passthroughmotor.setControl(velControl.withVelocity(RotationsPerSecond.of(-50)));
-        Logger.recordOutput("Shooter.angle", Degrees.of(45));
-        Logger.recordOutput("FlywheelMotor.SPEED", FLYWHEEL_SPEED);
-        Logger.recordOutput("PassthroughMotor.SPEED", -50);
-        Logger.recordOutput("Robot.State","Collecting");
+    /**
+     * Continuously aims while moving, leading the target by the robot's velocity.
+     *
+     * @param dx Supplier of the X offset from the robot to the target on the field in meters
+     * @param dy Supplier of the Y offset from the robot to the target on the field in meters
+     * @param vx Supplier of the X velocity of the robot on the field in meters per second
+     * @param vy Supplier of the Y velocity of the robot on the field in meters per second
+     */
+    public static Command aimWhileMoving(
+        Shooter shooter, DoubleSupplier dx, DoubleSupplier dy, DoubleSupplier vx, DoubleSupplier vy) {
+        return shooter.run(() -> shooter.aimWhileMoving(dx.getAsDouble(), dy.getAsDouble(), vx.getAsDouble(), vy.getAsDouble()))
+                      .withName("Shooter Aim While Moving");
     }
 
-    public static void moveToAngle(Angle angle) {
-        Pivotmotor.setControl(posControl.withPosition(angle));
-        Logger.recordOutput("Shooter/angle", angle);
-        Logger.recordOutput("Robot/State","angle" + angle);
+    public static Command angle90(Shooter shooter) {
+        return moveToAngle(shooter, 90);
     }
 
-    public static void FIRE() {
-        Passthroughmotor.setControl(velControl.withVelocity(RotationsPerSecond.of(50)));
-        FlywheelMotor.setControl(velControl.withVelocity(RotationsPerSecond.of(-FLYWHEEL_SPEED)));
-        Logger.recordOutput("PassthroughMotor/SPEED", Degrees.of(50));
-        Logger.recordOutput("FlywheelMotor/SPEED", -FLYWHEEL_SPEED);
-        Logger.recordOutput("Robot/State","FIRE");
+    public static Command angle115(Shooter shooter) {
+        return moveToAngle(shooter, 115);
     }
 
-    public static void angle90() {
-        Pivotmotor.setControl(posControl.withPosition(Degrees.of(90)));
-        FlywheelMotor.setControl(velControl.withVelocity(RotationsPerSecond.of(-FLYWHEEL_SPEED)));
-        Logger.recordOutput("Shooter/angle", Double.valueOf(90));
-        Logger.recordOutput("FlywheelMotor/SPEED", -FLYWHEEL_SPEED);
-        Logger.recordOutput("Robot/State","angle90");
+    public static Command angleMax(Shooter shooter) {
+        return moveToAngle(shooter, PIVOT_LIMIT_MAX);
     }
 
-    public static void angle115() {
-        Pivotmotor.setControl(posControl.withPosition(Degrees.of(115)));
-        FlywheelMotor.setControl(velControl.withVelocity(RotationsPerSecond.of(-FLYWHEEL_SPEED)));
-        Logger.recordOutput("Shooter/angle", Double.valueOf(115));
-        Logger.recordOutput("FlywheelMotor/SPEED", -FLYWHEEL_SPEED);
-        Logger.recordOutput("Robot/State","angle115");
+    public static Command spinUp(Shooter shooter) {
+        return shooter.runOnce(shooter::spinUp).withName("Shooter Spin Up");
     }
 
-    public static void angleMax() {
-        Pivotmotor.setControl(posControl.withPosition(Degrees.of(PIVOT_LIMIT_MAX)));
-        FlywheelMotor.setControl(velControl.withVelocity(RotationsPerSecond.of(-FLYWHEEL_SPEED)));
-        Logger.recordOutput("Shooter/angle", PIVOT_LIMIT_MAX);
-        Logger.recordOutput("FlywheelMotor/SPEED", -FLYWHEEL_SPEED);
-        Logger.recordOutput("Robot/State","angleMax");
+    /**
+     * Fires a shot: spins up in parallel with the pivot, feeds once both are within tolerance (or the ready timeout
+     * passes), then waits for the game piece to leave before spinning back up for the next shot. An interrupted shot is
+     * ended the same way, so the passthrough never keeps feeding after the command.
+     */
+    public static Command fire(Shooter shooter) {
+        return Commands.sequence(
+            shooter.runOnce(shooter::prepareShot),
+            Commands.waitUntil(shooter::isReadyToFire).withTimeout(FIRE_READY_TIMEOUT),
+            shooter.runOnce(shooter::fire),
+            Commands.waitUntil(shooter::hasShotExited).withTimeout(FIRE_EXIT_TIMEOUT),
+            shooter.runOnce(shooter::finishShot)
+        ).finallyDo(interrupted -> {
+            if (interrupted) { shooter.finishShot(); }
+        }).withName("Shooter Fire");
     }
-}
\ No newline at end of file
+}
@@ -22,9 +22,127 @@
 
 package org.tahomarobotics.robot.shooter;
 
+import com.ctre.phoenix6.configs.*;
+import com.ctre.phoenix6.signals.InvertedValue;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import org.tahomarobotics.robot.RobotConfiguration;
+
 public class ShooterConstants {
     public static final double PIVOT_LIMIT_MIN = 45;
     public static final double PIVOT_LIMIT_MAX = 135;
 
     public static final double FLYWHEEL_SPEED = 300;
+
+    public static final double PASSTHROUGH_COLLECT_SPEED = -50;
+    public static final double PASSTHROUGH_FIRE_SPEED = 50;
+
+    // -- Shot Map --
+
+    /** Shot map calibration table, relative to the deploy directory. */
+    public static final String SHOT_MAP_FILE = "shooter/shot_map.csv";
+    /**
+     * Whether the shot map has been measured on the field. It has not yet: the table spans the pivot's range with
+     * placeholder values. Until this is set, distance-based aiming is only bound in simulation.
+     */
+    public static final boolean SHOT_MAP_CALIBRATED = false;
+
+    /** Used when the calibration table cannot be loaded, shoots at 90 degrees and the default speed from any distance. */
+    public static final ShotMap DEFAULT_SHOT_MAP = new ShotMap(
+        new double[]{0}, new double[]{90}, new double[]{FLYWHEEL_SPEED}, new double[]{0.5});
+
+    // -- Shoot On The Move --
+
+    public static final int SOLVER_MAX_ITERATIONS = 8;
+    /** Hard cap on time spent solving each loop, well under a percent of the loop budget. */
+    public static final long SOLVER_BUDGET_NANOS = 200_000;
+    /** Change in time of flight in seconds below which the solver has converged. */
+    public static final double SOLVER_TOLERANCE = 1e-4;
+
+    // -- Fire Sequence --
+
+    public static final double PIVOT_TOLERANCE_DEGREES = 1.5;
+    /** Flywheel speed error in rotations per second within which the feed may start. */
+    public static final double FLYWHEEL_TOLERANCE = 5;
+    /** Samples older than this in seconds are too stale to gate a shot on. */
+    public static final double MAX_SAMPLE_AGE = 0.05;
+    /** Drop in flywheel speed in rotations per second which marks the game piece leaving. */
+    public static final double FIRE_EXIT_DIP = 15;
+
+    /** Feeds anyway after this many seconds so a bad sensor cannot hold a shot forever. */
+    public static final double FIRE_READY_TIMEOUT = 1.0;
+    public static final double FIRE_EXIT_TIMEOUT = 0.5;
+
+    // -- Motion Detection --
+
+    /** Change in velocity in rotations per second after a control frame which counts as the mechanism responding. */
+    public static final double PIVOT_MOTION_THRESHOLD = 0.02;
+    public static final double FLYWHEEL_MOTION_THRESHOLD = 2;
+    public static final double PASSTHROUGH_MOTION_THRESHOLD = 2;
+
+    // -- Mechanism --
+
+    // Estimates from CAD, to be checked against the robot.
+    /** Motor rotations per pivot rotation. */
+    public static final double PIVOT_GEAR_REDUCTION = 60;
+    /** Motor rotations per flywheel rotation, geared up since the shot speeds are beyond a Kraken's free speed. */
+    public static final double FLYWHEEL_GEAR_REDUCTION = 1 / 3.5;
+
+    // -- Configurations --
+
+    // Positions, velocities and gains are all in mechanism rotations. The gains were tuned against the simulated plants
+    // in ShooterIOSim, which runs these same Slot 0 configurations, and are a starting point for tuning on the robot.
+    public static final TalonFXConfiguration PIVOT_CONFIGURATION = new TalonFXConfiguration()
+        .withFeedback(new FeedbackConfigs()
+                          .withSensorToMechanismRatio(PIVOT_GEAR_REDUCTION))
+        .withSlot0(new Slot0Configs()
+                       .withKP(120)
+                       .withKD(1))
+        .withMotorOutput(new MotorOutputConfigs()
+                             .withNeutralMode(NeutralModeValue.Brake)
+                             .withInverted(InvertedValue.CounterClockwise_Positive))
+        .withCurrentLimits(new CurrentLimitsConfigs()
+                               .withStatorCurrentLimit(40)
+                               .withStatorCurrentLimitEnable(true));
+
+    public static final TalonFXConfiguration FLYWHEEL_CONFIGURATION = new TalonFXConfiguration()
+        .withFeedback(new FeedbackConfigs()
+                          .withSensorToMechanismRatio(FLYWHEEL_GEAR_REDUCTION))
+        .withSlot0(new Slot0Configs()
+                       .withKV(0.034)
+                       .withKP(0.5))
+        .withMotorOutput(new MotorOutputConfigs()
+                             .withNeutralMode(NeutralModeValue.Coast)
+                             .withInverted(InvertedValue.CounterClockwise_Positive))
+        .withCurrentLimits(new CurrentLimitsConfigs()
+                               .withStatorCurrentLimit(80)
+                               .withStatorCurrentLimitEnable(true));
+
+    public static final TalonFXConfiguration PASSTHROUGH_CONFIGURATION = new TalonFXConfiguration()
+        .withSlot0(new Slot0Configs()
+                       .withKV(0.12)
+                       .withKP(0.1))
+        .withMotorOutput(new MotorOutputConfigs()
+                             .withNeutralMode(NeutralModeValue.Brake)
+                             .withInverted(InvertedValue.CounterClockwise_Positive))
+        .withCurrentLimits(new CurrentLimitsConfigs()
+                               .withStatorCurrentLimit(40)
+                               .withStatorCurrentLimitEnable(true));
+
+    // -- Signal Rates --
+
+    // Pivot position and flywheel velocity pace the sampler and are what shots are gated on.
+    public static final double CONTROL_SIGNAL_ACTIVE_FREQUENCY = RobotConfiguration.MECHANISM_UPDATE_FREQUENCY;
+    public static final double CONTROL_SIGNAL_IDLE_FREQUENCY = 10;
+
+    // Everything else is only used for logging.
+    public static final double STATUS_SIGNAL_ACTIVE_FREQUENCY = 50;
+    public static final double STATUS_SIGNAL_IDLE_FREQUENCY = 4;
+
+    // -- Signal Sampling --
+
+    /** Samples buffered between main loop iterations, several loops worth at the mechanism update frequency. */
+    public static final int SAMPLE_BUFFER_CAPACITY = 16;
+
+    /** Control frames recorded between main loop iterations, only the first ones are kept past this. */
+    public static final int FRAME_BUFFER_CAPACITY = 8;
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import org.littletonrobotics.junction.AutoLog;
+
+import static org.tahomarobotics.robot.shooter.ShooterConstants.FRAME_BUFFER_CAPACITY;
+import static org.tahomarobotics.robot.shooter.ShooterConstants.SAMPLE_BUFFER_CAPACITY;
+
+/**
+ * Hardware layer of the {@link Shooter}. Everything the shooter reads comes through {@link ShooterIOInputs}, so a recorded
+ * log can be replayed through the shooter's logic with this default no-op implementation.
+ */
+public interface ShooterIO {
+    @AutoLog
+    public static class ShooterIOInputs {
+        // -- Latest Sample --
+
+        /** FPGA timestamp of the latest sample in seconds, latency compensated. */
+        public double latestTimestamp = Double.NaN;
+
+        public double pivotPosition = 0;
+        public double pivotVelocity = 0;
+        public double pivotCurrent = 0;
+        public double pivotVoltage = 0;
+
+        public double flywheelPosition = 0;
+        public double flywheelVelocity = 0;
+        public double flywheelCurrent = 0;
+        public double flywheelVoltage = 0;
+
+        public double passthroughPosition = 0;
+        public double passthroughVelocity = 0;
+        public double passthroughCurrent = 0;
+        public double passthroughVoltage = 0;
+
+        // -- Samples This Loop --
+
+        /** Number of samples taken since the last loop, only that many entries of the sample arrays are valid. */
+        public int sampleCount = 0;
+        public double[] sampleTimestamps = new double[SAMPLE_BUFFER_CAPACITY];
+        public double[] pivotVelocitySamples = new double[SAMPLE_BUFFER_CAPACITY];
+        public double[] flywheelVelocitySamples = new double[SAMPLE_BUFFER_CAPACITY];
+        public double[] passthroughVelocitySamples = new double[SAMPLE_BUFFER_CAPACITY];
+
+        // -- Frames This Loop --
+
+        /**
+         * Number of times control frames were sent since the last loop, counting frames sent to several motors at once
+         * as one. Only that many entries of the frame timestamps are valid.
+         */
+        public int frameCount = 0;
+        /** FPGA timestamps in seconds of those frames, oldest first. */
+        public double[] frameTimestamps = new double[FRAME_BUFFER_CAPACITY];
+
+        // -- Diagnostics --
+
+        public long droppedSamples = 0;
+        public long samplerFailures = 0;
+        public long framesSent = 0;
+        public long framesSkipped = 0;
+        /** FPGA timestamp of the last control frame sent to any motor in seconds. */
+        public double lastFrameTimestamp = Double.NaN;
+        public long controlCycles = 0;
+        /** Control cycles which started late or ran longer than one control period. */
+        public long controlOverruns = 0;
+        /** Device resets seen, each followed by the motor's target being sent again. */
+        public long deviceResets = 0;
+    }
+
+    /**
+     * Updates the inputs with everything sampled since the last call.
+     */
+    default void updateInputs(ShooterIOInputs inputs) {}
+
+    /**
+     * Applies targets to the motors. Called every loop from the main thread, implementations may hand the targets to a
+     * control loop of their own and should skip anything unchanged.
+     *
+     * @param pivotPosition       Pivot position in rotations, or NaN for neutral
+     * @param flywheelVelocity    Flywheel velocity in rotations per second, zero for neutral
+     * @param passthroughVelocity Passthrough velocity in rotations per second, zero for neutral
+     */
+    default void setTargets(double pivotPosition, double flywheelVelocity, double passthroughVelocity) {}
+
+    /**
+     * Selects whether the status signals the shot is gated on run at their full rate.
+     */
+    default void setSignalsActive(boolean active) {}
+}
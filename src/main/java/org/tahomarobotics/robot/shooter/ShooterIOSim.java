@@ -0,0 +1,349 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import com.ctre.phoenix6.configs.Slot0Configs;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
+import org.tahomarobotics.robot.RobotConfiguration;
+
+import static org.tahomarobotics.robot.RobotMap.*;
+import static org.tahomarobotics.robot.shooter.ShooterConstants.*;
+
+/**
+ * Physics-backed shooter simulation, stepped by the HAL clock. Under a paused clock driven by
+ * {@link edu.wpi.first.wpilibj.simulation.SimHooks#stepTiming(double)} the simulation advances exactly as far as the clock
+ * does, so it runs as fast as the CPU allows and is deterministic.
+ * <p>
+ * Simulated Phoenix devices run their closed loops on their own real-time clock, which a stepped clock leaves behind,
+ * so their Slot 0 closed loops are evaluated here at the device's control rate instead, from the same configurations the
+ * real devices are given and in the same mechanism units. The resulting rotor state is mirrored into each
+ * {@link TalonFXSimState} through the configured sensor to mechanism ratio to keep the simulated devices coherent.
+ * Current limits are not modelled.
+ * <p>
+ * A game piece is pulled in by collecting and, when fed, takes a share of the flywheel's speed as it leaves, so shots
+ * are detected exactly as they are on the robot.
+ */
+public class ShooterIOSim implements ShooterIO {
+    /** Physics and control step, the rate at which the devices run their closed loops. */
+    private static final double STEP_SECONDS = 0.001;
+    /** Steps longer than this are clamped, e.g. after a breakpoint. */
+    private static final double MAX_ELAPSED_SECONDS = 0.1;
+    private static final double SAMPLE_PERIOD = 1 / RobotConfiguration.MECHANISM_UPDATE_FREQUENCY;
+
+    // -- Plants --
+
+    // Estimates from CAD.
+    private static final double PIVOT_MOI = 0.15; // kg m^2
+    private static final double PIVOT_LENGTH = 0.4; // m
+    private static final double FLYWHEEL_MOI = 0.002; // kg m^2
+    private static final double PASSTHROUGH_MOI = 0.0005; // kg m^2
+
+    // -- Game Piece --
+
+    /** Passthrough rotations inwards which pull a game piece in. */
+    private static final double COLLECT_ROTATIONS = 3;
+    /** Passthrough rotations outwards which carry a held game piece into the flywheel. */
+    private static final double FEED_ROTATIONS = 2;
+    /** Fraction of the flywheel's speed given up to a game piece as it leaves. */
+    private static final double GAME_PIECE_SPEED_LOSS = 0.1;
+
+    private final SingleJointedArmSim pivotSim = new SingleJointedArmSim(
+        DCMotor.getKrakenX60(1), PIVOT_CONFIGURATION.Feedback.SensorToMechanismRatio, PIVOT_MOI, PIVOT_LENGTH,
+        Units.degreesToRadians(PIVOT_LIMIT_MIN), Units.degreesToRadians(PIVOT_LIMIT_MAX), true,
+        Units.degreesToRadians(PIVOT_LIMIT_MIN)
+    );
+    private final FlywheelSim flywheelSim = new FlywheelSim(
+        LinearSystemId.createFlywheelSystem(DCMotor.getKrakenX60(1), FLYWHEEL_MOI,
+                                            FLYWHEEL_CONFIGURATION.Feedback.SensorToMechanismRatio),
+        DCMotor.getKrakenX60(1));
+    private final DCMotorSim passthroughSim = new DCMotorSim(
+        LinearSystemId.createDCMotorSystem(DCMotor.getKrakenX60(1), PASSTHROUGH_MOI,
+                                           PASSTHROUGH_CONFIGURATION.Feedback.SensorToMechanismRatio), DCMotor.getKrakenX60(1));
+
+    private final SimulatedController pivot = new SimulatedController(PIVOT_CONFIGURATION);
+    private final SimulatedController flywheel = new SimulatedController(FLYWHEEL_CONFIGURATION);
+    private final SimulatedController passthrough = new SimulatedController(PASSTHROUGH_CONFIGURATION);
+
+    private final TalonFXSimState pivotState = new TalonFX(PIVOT_MOTOR, RobotConfiguration.CANBUS_NAME).getSimState();
+    private final TalonFXSimState flywheelState = new TalonFX(FLYWHEEL_MOTOR, RobotConfiguration.CANBUS_NAME).getSimState();
+    private final TalonFXSimState passthroughState =
+        new TalonFX(PASSTHROUGH_MOTOR, RobotConfiguration.CANBUS_NAME).getSimState();
+
+    private double time = Double.NaN;
+    private double lastFrameTimestamp = Double.NaN;
+    private final double[] frameTimestamps = new double[FRAME_BUFFER_CAPACITY];
+    private int frameCount = 0;
+    private double nextSample = 0;
+    private double flywheelPosition = 0;
+    private double pivotVoltage = 0, flywheelVoltage = 0, passthroughVoltage = 0;
+
+    private boolean holdingGamePiece = false;
+    // Passthrough rotations towards collecting or feeding the game piece.
+    private double gamePieceTravel = 0;
+
+    // -- Inputs --
+
+    @Override
+    public void updateInputs(ShooterIOInputs inputs) {
+        double now = Timer.getFPGATimestamp();
+        if (Double.isNaN(time)) {
+            time = now;
+            nextSample = now;
+        } else if (now - time > MAX_ELAPSED_SECONDS) {
+            time = now - MAX_ELAPSED_SECONDS;
+            nextSample = Math.max(nextSample, time);
+        }
+
+        inputs.sampleCount = 0;
+        double battery = RobotController.getBatteryVoltage();
+        while (now - time > 1e-9) {
+            double dt = Math.min(STEP_SECONDS, now - time);
+            step(dt, battery);
+            time += dt;
+
+            if (time >= nextSample) {
+                sample(inputs, time);
+                nextSample += SAMPLE_PERIOD;
+                if (nextSample <= time) { nextSample = time + SAMPLE_PERIOD; }
+            }
+        }
+
+        inputs.lastFrameTimestamp = lastFrameTimestamp;
+        inputs.frameCount = frameCount;
+        System.arraycopy(frameTimestamps, 0, inputs.frameTimestamps, 0, frameCount);
+        frameCount = 0;
+
+        mirror(pivotState, getPivotPosition(), getPivotVelocity(), PIVOT_CONFIGURATION, battery);
+        mirror(flywheelState, flywheelPosition, getFlywheelVelocity(), FLYWHEEL_CONFIGURATION, battery);
+        mirror(passthroughState, getPassthroughPosition(), getPassthroughVelocity(), PASSTHROUGH_CONFIGURATION, battery);
+    }
+
+    private void step(double dt, double battery) {
+        pivotVoltage = pivot.calculate(getPivotPosition(), getPivotVelocity(), dt, battery);
+        flywheelVoltage = flywheel.calculate(flywheelPosition, getFlywheelVelocity(), dt, battery);
+        passthroughVoltage = passthrough.calculate(getPassthroughPosition(), getPassthroughVelocity(), dt, battery);
+
+        pivotSim.setInputVoltage(pivotVoltage);
+        flywheelSim.setInputVoltage(flywheelVoltage);
+        passthroughSim.setInputVoltage(passthroughVoltage);
+
+        pivotSim.update(dt);
+        flywheelSim.update(dt);
+        passthroughSim.update(dt);
+
+        // The flywheel model has no position state.
+        flywheelPosition += getFlywheelVelocity() * dt;
+
+        stepGamePiece(getPassthroughVelocity() * dt);
+    }
+
+    /**
+     * Collects a game piece once the passthrough has turned far enough inwards, and shoots a held one once it has
+     * turned far enough outwards, taking a share of the flywheel's speed as the piece leaves.
+     */
+    private void stepGamePiece(double travel) {
+        // Positive passthrough travel is outwards.
+        gamePieceTravel = Math.max(0, gamePieceTravel + (holdingGamePiece ? travel : -travel));
+
+        if (!holdingGamePiece && gamePieceTravel >= COLLECT_ROTATIONS) {
+            holdingGamePiece = true;
+            gamePieceTravel = 0;
+        } else if (holdingGamePiece && gamePieceTravel >= FEED_ROTATIONS) {
+            holdingGamePiece = false;
+            gamePieceTravel = 0;
+            flywheelSim.setAngularVelocity(flywheelSim.getAngularVelocityRadPerSec() * (1 - GAME_PIECE_SPEED_LOSS));
+        }
+    }
+
+    private void sample(ShooterIOInputs inputs, double timestamp) {
+        inputs.latestTimestamp = timestamp;
+
+        inputs.pivotPosition = getPivotPosition();
+        inputs.pivotVelocity = getPivotVelocity();
+        inputs.pivotCurrent = pivotSim.getCurrentDrawAmps();
+        inputs.pivotVoltage = pivotVoltage;
+
+        inputs.flywheelPosition = flywheelPosition;
+        inputs.flywheelVelocity = getFlywheelVelocity();
+        inputs.flywheelCurrent = flywheelSim.getCurrentDrawAmps();
+        inputs.flywheelVoltage = flywheelVoltage;
+
+        inputs.passthroughPosition = getPassthroughPosition();
+        inputs.passthroughVelocity = getPassthroughVelocity();
+        inputs.passthroughCurrent = passthroughSim.getCurrentDrawAmps();
+        inputs.passthroughVoltage = passthroughVoltage;
+
+        if (inputs.sampleCount < inputs.sampleTimestamps.length) {
+            inputs.sampleTimestamps[inputs.sampleCount] = timestamp;
+            inputs.pivotVelocitySamples[inputs.sampleCount] = inputs.pivotVelocity;
+            inputs.flywheelVelocitySamples[inputs.sampleCount] = inputs.flywheelVelocity;
+            inputs.passthroughVelocitySamples[inputs.sampleCount] = inputs.passthroughVelocity;
+            inputs.sampleCount++;
+        }
+    }
+
+    private static void mirror(TalonFXSimState state, double position, double velocity,
+                               TalonFXConfiguration configuration, double battery) {
+        double ratio = configuration.Feedback.SensorToMechanismRatio;
+        state.setSupplyVoltage(battery);
+        state.setRawRotorPosition(position * ratio);
+        state.setRotorVelocity(velocity * ratio);
+    }
+
+    // -- Outputs --
+
+    @Override
+    public void setTargets(double pivotPosition, double flywheelVelocity, double passthroughVelocity) {
+        boolean changed;
+        if (Double.isNaN(pivotPosition)) {
+            changed = pivot.setNeutral();
+        } else {
+            changed = pivot.setPosition(pivotPosition);
+        }
+        if (flywheelVelocity == 0) {
+            changed |= flywheel.setNeutral();
+        } else {
+            changed |= flywheel.setVelocity(flywheelVelocity);
+        }
+        if (passthroughVelocity == 0) {
+            changed |= passthrough.setNeutral();
+        } else {
+            changed |= passthrough.setVelocity(passthroughVelocity);
+        }
+
+        // Mirrors DeduplicatedTalonFX, which only sends a frame when a request changes.
+        if (changed) {
+            lastFrameTimestamp = Timer.getFPGATimestamp();
+            if (frameCount < frameTimestamps.length) { frameTimestamps[frameCount++] = lastFrameTimestamp; }
+        }
+    }
+
+    // -- Mechanism State --
+
+    /**
+     * @return Whether a game piece is held in the passthrough
+     */
+    boolean hasGamePiece() {
+        return holdingGamePiece;
+    }
+
+    private double getPivotPosition() {
+        return Units.radiansToRotations(pivotSim.getAngleRads());
+    }
+
+    private double getPivotVelocity() {
+        return Units.radiansToRotations(pivotSim.getVelocityRadPerSec());
+    }
+
+    private double getFlywheelVelocity() {
+        return Units.radiansToRotations(flywheelSim.getAngularVelocityRadPerSec());
+    }
+
+    private double getPassthroughPosition() {
+        return Units.radiansToRotations(passthroughSim.getAngularPositionRad());
+    }
+
+    private double getPassthroughVelocity() {
+        return Units.radiansToRotations(passthroughSim.getAngularVelocityRadPerSec());
+    }
+
+    /**
+     * Slot 0 position and velocity closed loops of a device configuration as evaluated by the device, in mechanism
+     * rotations.
+     */
+    private static final class SimulatedController {
+        private enum Mode { NEUTRAL, POSITION, VELOCITY }
+
+        private final Slot0Configs gains;
+
+        private Mode mode = Mode.NEUTRAL;
+        private double target = 0;
+        private double integral = 0;
+        private double lastError = Double.NaN;
+
+        private SimulatedController(TalonFXConfiguration configuration) {
+            this.gains = configuration.Slot0;
+        }
+
+        private boolean setNeutral() {
+            return set(Mode.NEUTRAL, 0);
+        }
+
+        private boolean setPosition(double rotations) {
+            return set(Mode.POSITION, rotations);
+        }
+
+        private boolean setVelocity(double rps) {
+            return set(Mode.VELOCITY, rps);
+        }
+
+        /** @return whether the request changed */
+        private boolean set(Mode mode, double target) {
+            if (mode == this.mode && target == this.target) {
+                return false;
+            }
+            if (mode != this.mode) {
+                integral = 0;
+                lastError = Double.NaN;
+            }
+            this.mode = mode;
+            this.target = target;
+            return true;
+        }
+
+        private double calculate(double position, double velocity, double dt, double battery) {
+            double error, feedforward;
+            switch (mode) {
+                case POSITION -> {
+                    error = target - position;
+                    feedforward = 0;
+                }
+                case VELOCITY -> {
+                    error = target - velocity;
+                    feedforward = gains.kV * target + Math.signum(target) * gains.kS;
+                }
+                default -> {
+                    return 0;
+                }
+            }
+
+            integral += error * dt;
+            double derivative = Double.isNaN(lastError) ? 0 : (error - lastError) / dt;
+            lastError = error;
+
+            double output = feedforward + gains.kP * error + gains.kI * integral + gains.kD * derivative;
+            return MathUtil.clamp(output, -battery, battery);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import com.ctre.phoenix6.hardware.TalonFX;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+import edu.wpi.first.wpilibj.Timer;
+import org.tahomarobotics.robot.RobotConfiguration;
+import org.tahomarobotics.robot.util.DeduplicatedTalonFX;
+import org.tahomarobotics.robot.util.RobustConfigurator;
+import org.tahomarobotics.robot.util.TargetSlot;
+import org.tahomarobotics.robot.util.logging.Log;
+import org.tahomarobotics.robot.util.signals.SampleBuffer;
+import org.tahomarobotics.robot.util.signals.SignalRateManager;
+import org.tahomarobotics.robot.util.signals.SignalSampler;
+
+import static org.tahomarobotics.robot.RobotMap.*;
+import static org.tahomarobotics.robot.shooter.ShooterConstants.*;
+
+/**
+ * Shooter hardware on Talon FXs. Signals are sampled off the main thread and drained into the inputs once per loop.
+ * <p>
+ * Control frames are sent from a real-time control loop running at {@link RobotConfiguration#MECHANISM_UPDATE_FREQUENCY}
+ * on its own {@link Notifier}, decoupled from the scheduler. Targets are handed to it through a lock-free
+ * {@link TargetSlot}, so the main loop never blocks on the CAN bus and the control loop never waits on the main loop.
+ * A new target goes out on the control loop's next cycle, up to one control period after it was set. The control loop
+ * is the only thread to touch the motors' control requests, and so the only one to check them for a reset.
+ */
+public class ShooterIOTalonFX implements ShooterIO, AutoCloseable {
+    // -- Sample Layout --
+
+    // Each motor contributes {position, velocity, current, voltage} to every sample.
+    private static final int POSITION = 0, VELOCITY = 1, CURRENT = 2, VOLTAGE = 3, SIGNALS_PER_MOTOR = 4;
+    private static final int PIVOT = 0, FLYWHEEL = 1, PASSTHROUGH = 2;
+
+    // -- Control Loop --
+
+    /** Above the signal sampler, so a frame is never held up behind a refresh. */
+    private static final int CONTROL_THREAD_PRIORITY = 2;
+    private static final double CONTROL_PERIOD = 1 / RobotConfiguration.MECHANISM_UPDATE_FREQUENCY;
+    private static final long CONTROL_PERIOD_NANOS = (long) (CONTROL_PERIOD * 1e9);
+
+    // -- Devices --
+
+    private final DeduplicatedTalonFX pivot = new DeduplicatedTalonFX(new TalonFX(PIVOT_MOTOR, RobotConfiguration.CANBUS_NAME));
+    private final DeduplicatedTalonFX flywheel = new DeduplicatedTalonFX(new TalonFX(FLYWHEEL_MOTOR, RobotConfiguration.CANBUS_NAME));
+    private final DeduplicatedTalonFX passthrough = new DeduplicatedTalonFX(
+        new TalonFX(PASSTHROUGH_MOTOR, RobotConfiguration.CANBUS_NAME));
+
+    // -- Sampling --
+
+    private final SignalRateManager rates;
+    private final SignalSampler sampler;
+    private final SampleBuffer samples;
+    private final SampleBuffer.Sink sink = this::acceptSample;
+
+    // Inputs being filled by the current drain.
+    private ShooterIOInputs draining;
+
+    // -- Control --
+
+    // {pivot, flywheel, passthrough}, written by the main thread and read by the control loop.
+    private final TargetSlot targets = new TargetSlot(3, Double.NaN);
+    private final double[] controlTargets = {Double.NaN, 0, 0};
+    private final Notifier controlLoop = new Notifier(this::control);
+    private boolean prioritized = false;
+    private long lastControlStart = -1;
+    private volatile long controlCycles = 0;
+    private volatile long controlOverruns = 0;
+
+    // Timestamps of the control cycles which sent a frame, handed from the control loop to the main loop. When full the
+    // newest are dropped, the earliest are the ones a response is measured from.
+    private final SampleBuffer frames = new SampleBuffer(FRAME_BUFFER_CAPACITY, 1);
+    private final SampleBuffer.Sink frameSink = this::acceptFrame;
+
+    public ShooterIOTalonFX() {
+        TalonFX pivotMotor = pivot.getMotor(), flywheelMotor = flywheel.getMotor(), passthroughMotor = passthrough.getMotor();
+
+        RobustConfigurator.batch()
+                          .talonFX("Shooter Pivot", pivotMotor, PIVOT_CONFIGURATION)
+                          .talonFX("Shooter Flywheel", flywheelMotor, FLYWHEEL_CONFIGURATION)
+                          .talonFX("Shooter Passthrough", passthroughMotor, PASSTHROUGH_CONFIGURATION)
+                          .apply();
+
+        rates = new SignalRateManager(RobotConfiguration.CANBUS_NAME);
+        int control = rates.addGroup(
+            CONTROL_SIGNAL_ACTIVE_FREQUENCY, CONTROL_SIGNAL_IDLE_FREQUENCY,
+            pivotMotor.getPosition(), flywheelMotor.getVelocity()
+        );
+        rates.addGroup(
+            STATUS_SIGNAL_ACTIVE_FREQUENCY, STATUS_SIGNAL_IDLE_FREQUENCY,
+            pivotMotor.getVelocity(), pivotMotor.getStatorCurrent(), pivotMotor.getMotorVoltage(),
+            flywheelMotor.getPosition(), flywheelMotor.getStatorCurrent(), flywheelMotor.getMotorVoltage(),
+            passthroughMotor.getPosition(), passthroughMotor.getVelocity(), passthroughMotor.getStatorCurrent(),
+            passthroughMotor.getMotorVoltage()
+        );
+        rates.start(pivotMotor, flywheelMotor, passthroughMotor);
+
+        sampler = new SignalSampler("Shooter", rates, control);
+        register(pivotMotor);
+        register(flywheelMotor);
+        register(passthroughMotor);
+        samples = sampler.start(SAMPLE_BUFFER_CAPACITY);
+
+        // Everything starts neutral until the shooter gives a target.
+        targets.begin();
+        targets.set(PIVOT, Double.NaN);
+        targets.set(FLYWHEEL, 0);
+        targets.set(PASSTHROUGH, 0);
+        targets.publish();
+
+        controlLoop.setName("Shooter Control");
+        controlLoop.startPeriodic(CONTROL_PERIOD);
+    }
+
+    private void register(TalonFX motor) {
+        sampler.register(motor.getPosition());
+        sampler.register(motor.getVelocity());
+        sampler.register(motor.getStatorCurrent());
+        sampler.register(motor.getMotorVoltage());
+    }
+
+    // -- Inputs --
+
+    @Override
+    public void updateInputs(ShooterIOInputs inputs) {
+        inputs.sampleCount = 0;
+        draining = inputs;
+        samples.drain(sink);
+
+        inputs.droppedSamples = samples.getDropped();
+        inputs.samplerFailures = sampler.getFailures();
+        inputs.frameCount = 0;
+        frames.drain(frameSink);
+        draining = null;
+
+        inputs.framesSent = pivot.getSent() + flywheel.getSent() + passthrough.getSent();
+        inputs.framesSkipped = pivot.getSkipped() + flywheel.getSkipped() + passthrough.getSkipped();
+        inputs.lastFrameTimestamp = latest(
+            latest(pivot.getLastSentTimestamp(), flywheel.getLastSentTimestamp()), passthrough.getLastSentTimestamp());
+        inputs.controlCycles = controlCycles;
+        inputs.controlOverruns = controlOverruns;
+        inputs.deviceResets = pivot.getResets() + flywheel.getResets() + passthrough.getResets();
+
+        rates.log();
+    }
+
+    private static double latest(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
+    private void acceptFrame(double timestamp, double[] values, int offset) {
+        ShooterIOInputs inputs = draining;
+        inputs.frameTimestamps[inputs.frameCount++] = timestamp;
+    }
+
+    private void acceptSample(double timestamp, double[] values, int offset) {
+        ShooterIOInputs inputs = draining;
+        inputs.latestTimestamp = timestamp;
+
+        int base = offset + PIVOT * SIGNALS_PER_MOTOR;
+        inputs.pivotPosition = values[base + POSITION];
+        inputs.pivotVelocity = values[base + VELOCITY];
+        inputs.pivotCurrent = values[base + CURRENT];
+        inputs.pivotVoltage = values[base + VOLTAGE];
+
+        base = offset + FLYWHEEL * SIGNALS_PER_MOTOR;
+        inputs.flywheelPosition = values[base + POSITION];
+        inputs.flywheelVelocity = values[base + VELOCITY];
+        inputs.flywheelCurrent = values[base + CURRENT];
+        inputs.flywheelVoltage = values[base + VOLTAGE];
+
+        base = offset + PASSTHROUGH * SIGNALS_PER_MOTOR;
+        inputs.passthroughPosition = values[base + POSITION];
+        inputs.passthroughVelocity = values[base + VELOCITY];
+        inputs.passthroughCurrent = values[base + CURRENT];
+        inputs.passthroughVoltage = values[base + VOLTAGE];
+
+        if (inputs.sampleCount < inputs.sampleTimestamps.length) {
+            inputs.sampleTimestamps[inputs.sampleCount] = timestamp;
+            inputs.pivotVelocitySamples[inputs.sampleCount] = inputs.pivotVelocity;
+            inputs.flywheelVelocitySamples[inputs.sampleCount] = inputs.flywheelVelocity;
+            inputs.passthroughVelocitySamples[inputs.sampleCount] = inputs.passthroughVelocity;
+            inputs.sampleCount++;
+        }
+    }
+
+    // -- Outputs --
+
+    @Override
+    public void setTargets(double pivotPosition, double flywheelVelocity, double passthroughVelocity) {
+        targets.begin();
+        targets.set(PIVOT, pivotPosition);
+        targets.set(FLYWHEEL, flywheelVelocity);
+        targets.set(PASSTHROUGH, passthroughVelocity);
+        targets.publish();
+    }
+
+    @Override
+    public void setSignalsActive(boolean active) {
+        rates.setActive(active);
+    }
+
+    // -- Control Loop --
+
+    private void control() {
+        if (!prioritized) {
+            prioritized = true;
+            if (!Threads.setCurrentThreadPriority(true, CONTROL_THREAD_PRIORITY)) {
+                Log.warn("Failed to make the shooter control loop real-time");
+            }
+        }
+        long start = System.nanoTime();
+
+        // A failed read keeps the previous targets, the next cycle picks up the new ones.
+        targets.read(controlTargets);
+
+        // Re-asserted every cycle, this only sends a frame if a target changed or the device has reset.
+        boolean sent;
+        double pivotPosition = controlTargets[PIVOT];
+        if (Double.isNaN(pivotPosition)) {
+            sent = pivot.setNeutral();
+        } else {
+            sent = pivot.setPosition(pivotPosition);
+        }
+        double flywheelVelocity = controlTargets[FLYWHEEL];
+        if (flywheelVelocity == 0) {
+            sent |= flywheel.setNeutral();
+        } else {
+            sent |= flywheel.setVelocity(flywheelVelocity);
+        }
+        double passthroughVelocity = controlTargets[PASSTHROUGH];
+        if (passthroughVelocity == 0) {
+            sent |= passthrough.setNeutral();
+        } else {
+            sent |= passthrough.setVelocity(passthroughVelocity);
+        }
+
+        if (sent) {
+            int offset = frames.claim();
+            if (offset >= 0) { frames.commit(Timer.getFPGATimestamp()); }
+        }
+
+        long end = System.nanoTime();
+        boolean late = lastControlStart >= 0 && start - lastControlStart > CONTROL_PERIOD_NANOS * 3 / 2;
+        if (late || end - start > CONTROL_PERIOD_NANOS) { controlOverruns++; }
+        lastControlStart = start;
+        controlCycles++;
+    }
+
+    @Override
+    public void close() {
+        controlLoop.close();
+        sampler.close();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.tahomarobotics.robot.util.Warmup;
+
+import static org.tahomarobotics.robot.shooter.ShooterConstants.*;
+
+/**
+ * Runs the shooter's command and control paths against a throwaway shooter with no-op IO, so nothing reaches the
+ * motors and the real shooter's state is untouched. The throwaway is not registered with the scheduler, so its periodic
+ * never runs, and shots are never finished as that would log shot metrics under the real shooter's keys. Its solver
+ * timings are logged under {@code Warmup/Shooter/} rather than alongside the real shooter's.
+ */
+public final class ShooterWarmup implements Warmup.Exercise {
+    /** Distances in meters swept through, past both ends of any shot map so the clamps are exercised too. */
+    private static final double MIN_DISTANCE = -1, MAX_DISTANCE = 10, DISTANCE_STEP = 0.1;
+
+    private final Shooter shooter = new Shooter(new ShooterIO() {}, "Warmup/Shooter");
+
+    private final Command[] commands;
+    private double distance = MIN_DISTANCE;
+
+    public ShooterWarmup() {
+        CommandScheduler.getInstance().unregisterSubsystem(shooter);
+
+        commands = new Command[]{
+            ShooterCommands.collect(shooter),
+            ShooterCommands.moveToAngle(shooter, PIVOT_LIMIT_MAX),
+            ShooterCommands.moveToAngle(shooter, () -> distance),
+            ShooterCommands.aimWhileMoving(shooter, () -> distance, () -> 1, () -> 1, () -> -0.5),
+            ShooterCommands.spinUp(shooter),
+            ShooterCommands.fire(shooter),
+            ShooterCommands.idle(shooter)
+        };
+    }
+
+    @Override
+    public double run() {
+        // Sweep the shot map so every segment is exercised.
+        distance += DISTANCE_STEP;
+        if (distance > MAX_DISTANCE) { distance = MIN_DISTANCE; }
+
+        // Driven directly, the scheduler will not run commands requiring an unregistered subsystem while disabled.
+        for (Command command : commands) {
+            command.initialize();
+            command.execute();
+            command.isFinished();
+            command.end(true);
+        }
+
+        shooter.prepareShot();
+        boolean ready = shooter.isReadyToFire();
+        shooter.fire();
+        boolean exited = shooter.hasShotExited();
+        shooter.idle();
+
+        return shooter.getPivotTargetDegrees() + shooter.getLeadHeading() + (ready ? 1 : 0) + (exited ? 1 : 0);
+    }
+}
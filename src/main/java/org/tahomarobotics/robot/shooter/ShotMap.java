@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A calibration table from distance to pivot angle, flywheel speed and time of flight, interpolated with monotone cubic
+ * (Fritsch-Butland) Hermite splines so the result never overshoots between calibration points.
+ * <p>
+ * The table is loaded once into primitive arrays with every tangent precomputed. Evaluation checks the previously used
+ * segment first, so continuous aiming is O(1) in practice and O(log n) otherwise, and never allocates.
+ */
+public final class ShotMap {
+    private static final int PIVOT = 0, FLYWHEEL = 1, TIME_OF_FLIGHT = 2, COLUMNS = 3;
+
+    private final double[] distances;
+    private final double[][] values;
+    private final double[][] tangents;
+
+    private int segment = 0;
+
+    /**
+     * @param distances      Distances in meters, strictly increasing
+     * @param pivotDegrees   Pivot angle in degrees at each distance
+     * @param flywheelSpeeds Flywheel speed magnitude in rotations per second at each distance
+     * @param timesOfFlight  Time of flight in seconds at each distance
+     */
+    public ShotMap(double[] distances, double[] pivotDegrees, double[] flywheelSpeeds, double[] timesOfFlight) {
+        int n = distances.length;
+        if (n == 0 || pivotDegrees.length != n || flywheelSpeeds.length != n || timesOfFlight.length != n) {
+            throw new IllegalArgumentException("Shot map columns must be non-empty and the same length!");
+        }
+        for (int i = 1; i < n; i++) {
+            if (!(distances[i] > distances[i - 1])) {
+                throw new IllegalArgumentException("Shot map distances must be strictly increasing!");
+            }
+        }
+
+        this.distances = distances.clone();
+        values = new double[][]{pivotDegrees.clone(), flywheelSpeeds.clone(), timesOfFlight.clone()};
+        tangents = new double[COLUMNS][];
+        for (int column = 0; column < COLUMNS; column++) {
+            tangents[column] = computeTangents(this.distances, values[column]);
+        }
+    }
+
+    // Loading
+
+    /**
+     * Loads a shot map from a CSV file with the columns {@code distance_m,pivot_deg,flywheel_rps,time_of_flight_s}.
+     * Blank lines, comments starting with '#' and the header are ignored.
+     *
+     * @param file     The file
+     * @param fallback Shot map to use if the file is missing or invalid
+     *
+     * @return The loaded shot map, or the fallback
+     */
+    public static ShotMap load(File file, ShotMap fallback) {
+        List<double[]> rows = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file.toPath())) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || Character.isLetter(line.charAt(0))) { continue; }
+
+                String[] cells = line.split(",");
+                if (cells.length != COLUMNS + 1) {
+                    throw new IllegalArgumentException("Expected " + (COLUMNS + 1) + " columns in '" + line + "'");
+                }
+                double[] row = new double[COLUMNS + 1];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = Double.parseDouble(cells[i].trim());
+                }
+                rows.add(row);
+            }
+
+            double[][] columns = new double[COLUMNS + 1][rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                for (int column = 0; column < columns.length; column++) {
+                    columns[column][i] = rows.get(i)[column];
+                }
+            }
+            ShotMap map = new ShotMap(columns[0], columns[1], columns[2], columns[3]);
+            Log.info("Loaded {} shot map points from '{}'", rows.size(), file.getName());
+            return map;
+        } catch (IOException | IllegalArgumentException e) {
+            Log.error("Failed to load shot map '{}', using fallback: {}", file, e.getMessage());
+            return fallback;
+        }
+    }
+
+    // Evaluation
+
+    /**
+     * Evaluates the shot map, clamping to the calibrated range.
+     *
+     * @param distance Distance to the target in meters
+     * @param out      Shot to write the result into
+     *
+     * @return The given shot
+     */
+    public Shot evaluate(double distance, Shot out) {
+        int n = distances.length;
+        if (n == 1 || distance <= distances[0]) {
+            return out.set(values[PIVOT][0], values[FLYWHEEL][0], values[TIME_OF_FLIGHT][0]);
+        }
+        if (distance >= distances[n - 1]) {
+            return out.set(values[PIVOT][n - 1], values[FLYWHEEL][n - 1], values[TIME_OF_FLIGHT][n - 1]);
+        }
+
+        int k = findSegment(distance);
+        double h = distances[k + 1] - distances[k];
+        double t = (distance - distances[k]) / h;
+
+        double t2 = t * t, t3 = t2 * t;
+        double h00 = 2 * t3 - 3 * t2 + 1;
+        double h10 = (t3 - 2 * t2 + t) * h;
+        double h01 = -2 * t3 + 3 * t2;
+        double h11 = (t3 - t2) * h;
+
+        return out.set(
+            hermite(PIVOT, k, h00, h10, h01, h11),
+            hermite(FLYWHEEL, k, h00, h10, h01, h11),
+            hermite(TIME_OF_FLIGHT, k, h00, h10, h01, h11)
+        );
+    }
+
+    /**
+     * @return Time of flight in seconds at the given distance
+     */
+    public double timeOfFlight(double distance) {
+        int n = distances.length;
+        if (n == 1 || distance <= distances[0]) { return values[TIME_OF_FLIGHT][0]; }
+        if (distance >= distances[n - 1]) { return values[TIME_OF_FLIGHT][n - 1]; }
+
+        int k = findSegment(distance);
+        double h = distances[k + 1] - distances[k];
+        double t = (distance - distances[k]) / h;
+        double t2 = t * t, t3 = t2 * t;
+        return hermite(TIME_OF_FLIGHT, k, 2 * t3 - 3 * t2 + 1, (t3 - 2 * t2 + t) * h, -2 * t3 + 3 * t2, (t3 - t2) * h);
+    }
+
+    private double hermite(int column, int k, double h00, double h10, double h01, double h11) {
+        double[] y = values[column], m = tangents[column];
+        return h00 * y[k] + h10 * m[k] + h01 * y[k + 1] + h11 * m[k + 1];
+    }
+
+    /**
+     * @return Index of the segment containing the distance, which must be within the calibrated range
+     */
+    private int findSegment(double distance) {
+        int k = segment;
+        if (distance >= distances[k] && distance < distances[k + 1]) { return k; }
+
+        int index = Arrays.binarySearch(distances, distance);
+        k = index >= 0 ? index : -index - 2;
+        k = Math.min(Math.max(k, 0), distances.length - 2);
+        segment = k;
+        return k;
+    }
+
+    private static double[] computeTangents(double[] x, double[] y) {
+        int n = x.length;
+        double[] m = new double[n];
+        if (n < 2) { return m; }
+
+        double[] h = new double[n - 1];
+        double[] d = new double[n - 1];
+        for (int k = 0; k < n - 1; k++) {
+            h[k] = x[k + 1] - x[k];
+            d[k] = (y[k + 1] - y[k]) / h[k];
+        }
+
+        m[0] = d[0];
+        m[n - 1] = d[n - 2];
+        for (int k = 1; k < n - 1; k++) {
+            if (d[k - 1] * d[k] <= 0) {
+                m[k] = 0;
+            } else {
+                double w1 = 2 * h[k] + h[k - 1];
+                double w2 = h[k] + 2 * h[k - 1];
+                m[k] = (w1 + w2) / (w1 / d[k - 1] + w2 / d[k]);
+            }
+        }
+        return m;
+    }
+
+    // Result
+
+    /**
+     * A mutable shot setpoint, reused between evaluations.
+     */
+    public static final class Shot {
+        /** Pivot angle in degrees. */
+        public double pivotDegrees;
+        /** Flywheel speed magnitude in rotations per second. */
+        public double flywheelVelocity;
+        /** Time of flight in seconds. */
+        public double timeOfFlight;
+
+        private Shot set(double pivotDegrees, double flywheelVelocity, double timeOfFlight) {
+            this.pivotDegrees = pivotDegrees;
+            this.flywheelVelocity = flywheelVelocity;
+            this.timeOfFlight = timeOfFlight;
+            return this;
+        }
+    }
+}
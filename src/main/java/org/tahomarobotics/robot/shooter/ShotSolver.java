@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+/**
+ * Solves for the shot to take while the robot is moving. A game piece leaves with the robot's velocity, so the robot aims
+ * at a virtual target offset against its velocity by the time of flight; as the time of flight depends on the distance
+ * to that virtual target, the two are iterated to a fixed point.
+ * <p>
+ * Each solve is warm-started from the previous loop's time of flight and capped by both an iteration count and a
+ * nanosecond budget, so a poorly conditioned solve returns its best estimate rather than overrunning the loop. Nothing is
+ * allocated.
+ */
+public final class ShotSolver {
+    private final ShotMap shotMap;
+    private final int maxIterations;
+    private final long budgetNanos;
+    private final double tolerance;
+
+    private final ShotMap.Shot shot = new ShotMap.Shot();
+
+    private double previousTimeOfFlight = Double.NaN;
+
+    // Results of the last solve
+    private double distance = Double.NaN;
+    private double heading = Double.NaN;
+    private double timeOfFlight = Double.NaN;
+    private boolean converged = false;
+    private int iterations = 0;
+    private long solveNanos = 0;
+
+    /**
+     * @param shotMap       Shot map providing time of flight and setpoints by distance
+     * @param maxIterations Maximum fixed-point iterations per solve
+     * @param budgetNanos   Maximum time spent per solve in nanoseconds
+     * @param tolerance     Change in time of flight in seconds below which the solve has converged
+     */
+    public ShotSolver(ShotMap shotMap, int maxIterations, long budgetNanos, double tolerance) {
+        this.shotMap = shotMap;
+        this.maxIterations = maxIterations;
+        this.budgetNanos = budgetNanos;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Solves for the shot.
+     *
+     * @param dx X offset from the robot to the target on the field in meters
+     * @param dy Y offset from the robot to the target on the field in meters
+     * @param vx X velocity of the robot on the field in meters per second
+     * @param vy Y velocity of the robot on the field in meters per second
+     *
+     * @return The shot to take, reused between solves
+     */
+    public ShotMap.Shot solve(double dx, double dy, double vx, double vy) {
+        long start = System.nanoTime();
+
+        double t = Double.isNaN(previousTimeOfFlight) ? shotMap.timeOfFlight(Math.hypot(dx, dy)) : previousTimeOfFlight;
+        double virtualX = dx - vx * t, virtualY = dy - vy * t;
+
+        converged = false;
+        iterations = 0;
+        while (iterations < maxIterations) {
+            iterations++;
+
+            double next = shotMap.timeOfFlight(Math.hypot(virtualX, virtualY));
+            double change = Math.abs(next - t);
+            t = next;
+            virtualX = dx - vx * t;
+            virtualY = dy - vy * t;
+
+            if (change < tolerance) {
+                converged = true;
+                break;
+            }
+            if (System.nanoTime() - start >= budgetNanos) { break; }
+        }
+
+        // Only warm-start from solutions that converged, a diverging solve starts over next loop.
+        previousTimeOfFlight = converged ? t : Double.NaN;
+
+        timeOfFlight = t;
+        distance = Math.hypot(virtualX, virtualY);
+        heading = Math.atan2(virtualY, virtualX);
+        shotMap.evaluate(distance, shot);
+
+        solveNanos = System.nanoTime() - start;
+        return shot;
+    }
+
+    /**
+     * Discards the warm start, for when the target or robot state jumps.
+     */
+    public void reset() {
+        previousTimeOfFlight = Double.NaN;
+    }
+
+    // Getters
+
+    /**
+     * @return Distance to the virtual target in meters
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return Field-relative heading from the robot to the virtual target in radians
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * @return Time of flight of the solved shot in seconds
+     */
+    public double getTimeOfFlight() {
+        return timeOfFlight;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+}
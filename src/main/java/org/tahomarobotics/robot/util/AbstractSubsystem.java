@@ -29,14 +29,18 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 public abstract class AbstractSubsystem extends SubsystemBase {
 
     private final String name;
+    private final ExecutionTimeLogger executionTimeLogger;
 
     public AbstractSubsystem() {
         name = this.getClass().getSimpleName();
+        executionTimeLogger = new ExecutionTimeLogger("Subsystem/" + name);
     }
 
     public final void periodic() {
+        long start = System.nanoTime();
         this.subsystemPeriodic();
-//        ExecutionTimeLogger.logExecutionTime("Subsystem/" + name, this::subsystemPeriodic);
+        long end = System.nanoTime();
+        executionTimeLogger.record(end - start, end);
     }
 
     // WARNING - this function is not currently used
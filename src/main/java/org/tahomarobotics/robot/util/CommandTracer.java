@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.littletonrobotics.junction.Logger;
+
+import java.util.Optional;
+
+/**
+ * Traces command lifecycles in every mode. Initialize, finish and interrupt events are recorded with nanosecond
+ * timestamps into a fixed-size ring, and run durations are accumulated per command name in a bounded table which evicts
+ * the least recently used idle command once full. Commands sharing a name share statistics. Recording only writes
+ * primitives and references into preallocated arrays; events and statistics are flushed to AdvantageKit at a low rate by
+ * {@link #log()}, into buffers kept per length and reused on every later flush of that length.
+ */
+public final class CommandTracer {
+    /** Events held between flushes, anything older is dropped and counted. */
+    private static final int CAPACITY = 512;
+    private static final int MASK = CAPACITY - 1;
+    /** Commands with statistics held at once, the least recently used idle one is evicted past this. */
+    private static final int MAX_COMMANDS = 64;
+    private static final long FLUSH_PERIOD_NANOS = 1_000_000_000;
+
+    private static final byte INITIALIZE = 0, FINISH = 1, INTERRUPT = 2;
+    private static final String[] EVENT_NAMES = {"Initialize", "Finish", "Interrupt"};
+    private static final String NONE = "";
+
+    // -- Events --
+
+    private final long[] eventTimes = new long[CAPACITY];
+    private final byte[] eventTypes = new byte[CAPACITY];
+    private final String[] eventCommands = new String[CAPACITY];
+    private final String[] eventInterrupters = new String[CAPACITY];
+    private long written = 0;
+    private long flushed = 0;
+    private long dropped = 0;
+
+    // -- Commands --
+
+    private final String[] names = new String[MAX_COMMANDS];
+    private final int[] hashes = new int[MAX_COMMANDS];
+    private final long[] lastUsed = new long[MAX_COMMANDS];
+    private final boolean[] running = new boolean[MAX_COMMANDS];
+    private final long[] starts = new long[MAX_COMMANDS];
+    private final long[] counts = new long[MAX_COMMANDS];
+    private final long[] totalNanos = new long[MAX_COMMANDS];
+    private final long[] maxNanos = new long[MAX_COMMANDS];
+    private final long[] interrupts = new long[MAX_COMMANDS];
+    private int commandCount = 0;
+    private long evicted = 0;
+
+    // -- Flush Buffers --
+
+    private final EventColumns[] eventColumns = new EventColumns[CAPACITY + 1];
+    private final CommandColumns[] commandColumns = new CommandColumns[MAX_COMMANDS + 1];
+
+    private long lastFlush = System.nanoTime();
+
+    /**
+     * @param scheduler Scheduler to trace
+     */
+    public CommandTracer(CommandScheduler scheduler) {
+        scheduler.onCommandInitialize(this::initialize);
+        scheduler.onCommandFinish(this::finish);
+        scheduler.onCommandInterrupt(this::interrupt);
+    }
+
+    // -- Recording --
+
+    private void initialize(Command command) {
+        long now = System.nanoTime();
+        int id = id(command.getName(), now);
+        starts[id] = now;
+        running[id] = true;
+        record(now, INITIALIZE, names[id], NONE);
+    }
+
+    private void finish(Command command) {
+        long now = System.nanoTime();
+        int id = id(command.getName(), now);
+        end(id, now);
+        record(now, FINISH, names[id], NONE);
+    }
+
+    private void interrupt(Command command, Optional<Command> interrupter) {
+        long now = System.nanoTime();
+        int id = id(command.getName(), now);
+        end(id, now);
+        interrupts[id]++;
+        record(now, INTERRUPT, names[id], interrupter.isPresent() ? interrupter.get().getName() : NONE);
+    }
+
+    private void end(int id, long now) {
+        // Evicted while running, so its start is unknown.
+        if (!running[id]) { return; }
+        running[id] = false;
+
+        long duration = now - starts[id];
+        counts[id]++;
+        totalNanos[id] += duration;
+        if (duration > maxNanos[id]) { maxNanos[id] = duration; }
+    }
+
+    private void record(long time, byte type, String command, String interrupter) {
+        int index = (int) (written++ & MASK);
+        eventTimes[index] = time;
+        eventTypes[index] = type;
+        eventCommands[index] = command;
+        eventInterrupters[index] = interrupter;
+    }
+
+    /**
+     * Finds a command's slot by name, taking a free or evicted one for a name not seen yet.
+     */
+    private int id(String name, long now) {
+        int hash = name.hashCode();
+        for (int i = 0; i < commandCount; i++) {
+            if (hashes[i] == hash && name.equals(names[i])) {
+                lastUsed[i] = now;
+                return i;
+            }
+        }
+
+        int id;
+        if (commandCount < MAX_COMMANDS) {
+            id = commandCount++;
+        } else {
+            id = leastRecentlyUsed();
+            evicted++;
+        }
+        names[id] = name;
+        hashes[id] = hash;
+        lastUsed[id] = now;
+        running[id] = false;
+        counts[id] = 0;
+        totalNanos[id] = 0;
+        maxNanos[id] = 0;
+        interrupts[id] = 0;
+        return id;
+    }
+
+    /**
+     * @return The least recently used command which is not running, or the least recently used one if all are
+     */
+    private int leastRecentlyUsed() {
+        int oldest = -1, oldestIdle = -1;
+        for (int i = 0; i < MAX_COMMANDS; i++) {
+            if (oldest < 0 || lastUsed[i] - lastUsed[oldest] < 0) { oldest = i; }
+            if (!running[i] && (oldestIdle < 0 || lastUsed[i] - lastUsed[oldestIdle] < 0)) { oldestIdle = i; }
+        }
+        return oldestIdle < 0 ? oldest : oldestIdle;
+    }
+
+    // -- Logging --
+
+    /**
+     * Flushes events and statistics to AdvantageKit once per flush period. Call once per loop from the main thread.
+     */
+    public void log() {
+        long now = System.nanoTime();
+        if (now - lastFlush < FLUSH_PERIOD_NANOS) { return; }
+        lastFlush = now;
+
+        long pending = written - flushed;
+        if (pending > CAPACITY) {
+            dropped += pending - CAPACITY;
+            flushed = written - CAPACITY;
+            pending = CAPACITY;
+        }
+
+        // Event times are converted from the nanosecond clock to FPGA time.
+        double offset = Timer.getFPGATimestamp() - now / 1e9;
+        int count = (int) pending;
+        EventColumns events = eventColumns[count];
+        if (events == null) { events = eventColumns[count] = new EventColumns(count); }
+        for (int i = 0; i < count; i++) {
+            int index = (int) (flushed + i & MASK);
+            events.times[i] = eventTimes[index] / 1e9 + offset;
+            events.types[i] = EVENT_NAMES[eventTypes[index]];
+            events.commands[i] = eventCommands[index];
+            events.interrupters[i] = eventInterrupters[index];
+        }
+        flushed = written;
+
+        Logger.recordOutput("CommandTracer/Events/Time", events.times);
+        Logger.recordOutput("CommandTracer/Events/Type", events.types);
+        Logger.recordOutput("CommandTracer/Events/Command", events.commands);
+        Logger.recordOutput("CommandTracer/Events/InterruptedBy", events.interrupters);
+        Logger.recordOutput("CommandTracer/Events/Dropped", dropped);
+
+        CommandColumns commands = commandColumns[commandCount];
+        if (commands == null) { commands = commandColumns[commandCount] = new CommandColumns(commandCount); }
+        for (int i = 0; i < commandCount; i++) {
+            commands.names[i] = names[i];
+            commands.runs[i] = counts[i];
+            commands.interrupts[i] = interrupts[i];
+            commands.meanMs[i] = counts[i] == 0 ? 0 : totalNanos[i] / 1e6 / counts[i];
+            commands.maxMs[i] = maxNanos[i] / 1e6;
+        }
+        Logger.recordOutput("CommandTracer/Commands/Name", commands.names);
+        Logger.recordOutput("CommandTracer/Commands/Runs", commands.runs);
+        Logger.recordOutput("CommandTracer/Commands/Interrupts", commands.interrupts);
+        Logger.recordOutput("CommandTracer/Commands/MeanDurationMs", commands.meanMs);
+        Logger.recordOutput("CommandTracer/Commands/MaxDurationMs", commands.maxMs);
+        Logger.recordOutput("CommandTracer/Commands/Evicted", evicted);
+    }
+
+    // -- Buffers --
+
+    private static final class EventColumns {
+        private final double[] times;
+        private final String[] types, commands, interrupters;
+
+        private EventColumns(int length) {
+            times = new double[length];
+            types = new String[length];
+            commands = new String[length];
+            interrupters = new String[length];
+        }
+    }
+
+    private static final class CommandColumns {
+        private final String[] names;
+        private final long[] runs, interrupts;
+        private final double[] meanMs, maxMs;
+
+        private CommandColumns(int length) {
+            names = new String[length];
+            runs = new long[length];
+            interrupts = new long[length];
+            meanMs = new double[length];
+            maxMs = new double[length];
+        }
+    }
+}
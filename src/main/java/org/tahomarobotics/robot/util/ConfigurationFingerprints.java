@@ -0,0 +1,294 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.ParentConfiguration;
+import com.ctre.phoenix6.configs.ParentConfigurator;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import org.tahomarobotics.robot.RobotConfiguration;
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Applies device configurations one config group at a time, skipping every group the device already holds.
+ * <p>
+ * The device's configuration is read back once per apply and each group is compared by a fingerprint of its serialized
+ * form. Values can round slightly on the device, so after applying a group the fingerprint the device reports back for
+ * it is cached next to the fingerprint of what was applied. On later boots a group matching either is skipped, which
+ * avoids both the apply time and a flash write. The cache is kept outside the deploy directory, which every deploy
+ * replaces.
+ */
+public final class ConfigurationFingerprints {
+    private static final File FILE = new File(RobotConfiguration.PERSISTENT_DIR, "configuration-fingerprints.properties");
+    private static final Properties CACHE = load();
+
+    private ConfigurationFingerprints() {}
+
+    /**
+     * Creates a configuration function which only applies the groups that differ from the device's.
+     *
+     * @param device        The device
+     * @param configurator  The device's configurator
+     * @param configuration Configuration to apply
+     *
+     * @return The configuration function, which can be retried
+     */
+    public static Apply of(ParentDevice device, ParentConfigurator configurator, ParentConfiguration configuration) {
+        return new Apply(key(device), configurator, configuration, null);
+    }
+
+    /**
+     * Creates a configuration function which modifies the device's configuration, applying only the groups the
+     * modification changes. The configuration read back to compare against is the one modified, so the device is only
+     * read once.
+     *
+     * @param device       The device
+     * @param configurator The device's configurator
+     * @param empty        An empty configuration of the device's type, to read into
+     * @param modification Modification to make to the device's configuration
+     *
+     * @return The configuration function, which can be retried
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends ParentConfiguration> Apply modify(
+        ParentDevice device, ParentConfigurator configurator, C empty, Consumer<C> modification) {
+        return new Apply(key(device), configurator, empty, (Consumer<ParentConfiguration>) modification);
+    }
+
+    private static String key(ParentDevice device) {
+        return device.getNetwork() + "/" + device.getClass().getSimpleName() + "/" + device.getDeviceID();
+    }
+
+    /**
+     * A retryable configuration function which records which groups were applied and skipped.
+     * <p>
+     * The device is read back on the first run only. A retry compares against the same read back and picks up after the
+     * groups already applied or skipped, so a failure partway through costs neither a second read nor a second write.
+     */
+    public static final class Apply implements Supplier<StatusCode> {
+        private final String deviceKey;
+        private final ParentConfigurator configurator;
+        private final Consumer<ParentConfiguration> modification;
+        private ParentConfiguration configuration;
+
+        /** Device configuration as read back, null until read or if it could not be. */
+        private ParentConfiguration current = null;
+        private boolean readBack = false;
+
+        private final List<String> applied = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+
+        private Apply(
+            String deviceKey, ParentConfigurator configurator, ParentConfiguration configuration,
+            Consumer<ParentConfiguration> modification) {
+            this.deviceKey = deviceKey;
+            this.configurator = configurator;
+            this.configuration = configuration;
+            this.modification = modification;
+        }
+
+        @Override
+        public StatusCode get() {
+            if (!readBack) {
+                StatusCode read = readBack();
+                if (read != null) { return read; }
+            }
+            if (current == null) {
+                // Without a read back there is nothing to compare against, apply everything.
+                return applyAll();
+            }
+
+            boolean cached = false;
+            try {
+                for (Field field : groups(configuration)) {
+                    String name = field.getName();
+                    if (applied.contains(name) || skipped.contains(name)) { continue; }
+
+                    ParentConfiguration want = group(field, configuration);
+                    ParentConfiguration have = group(field, current);
+                    String wantFingerprint = fingerprint(want);
+                    String haveFingerprint = fingerprint(have);
+
+                    if (wantFingerprint.equals(haveFingerprint) ||
+                        (wantFingerprint + ":" + haveFingerprint).equals(CACHE.getProperty(key(field)))) {
+                        skipped.add(name);
+                        continue;
+                    }
+
+                    StatusCode status = invoke("apply", want);
+                    if (status == null) {
+                        // The configurator cannot apply this group on its own, apply everything.
+                        return applyAll();
+                    }
+                    if (!status.isOK()) { return status; }
+                    applied.add(name);
+
+                    // Only the group just applied is read back, to learn how the device rounded it.
+                    if (StatusCode.OK.equals(invoke("refresh", have))) {
+                        CACHE.setProperty(key(field), wantFingerprint + ":" + fingerprint(have));
+                        cached = true;
+                    }
+                }
+                return StatusCode.OK;
+            } finally {
+                if (cached) { save(); }
+            }
+        }
+
+        /**
+         * Reads the device's configuration back, and makes the modification to it if this is one.
+         *
+         * @return Null once read, or the status to retry on when a modification has nothing to modify
+         */
+        private StatusCode readBack() {
+            ParentConfiguration read = newInstance(configuration);
+            StatusCode refresh = read == null ? null : invoke("refresh", read);
+            boolean ok = refresh != null && refresh.isOK();
+
+            if (modification != null) {
+                // Modifying a configuration that was never read would apply defaults over the device's.
+                if (!ok) { return refresh == null ? StatusCode.StatusCodeNotInitialized : refresh; }
+                configuration = newInstance(read);
+                configuration.deserialize(read.serialize());
+                modification.accept(configuration);
+            }
+
+            current = ok ? read : null;
+            readBack = true;
+            return null;
+        }
+
+        private StatusCode applyAll() {
+            applied.clear();
+            skipped.clear();
+            applied.add(configuration.getClass().getSimpleName());
+            StatusCode status = invoke("apply", configuration);
+            return status == null ? StatusCode.StatusCodeNotInitialized : status;
+        }
+
+        private String key(Field field) {
+            return deviceKey + "/" + field.getName();
+        }
+
+        /**
+         * @return The resulting status code, or null if the configurator has no such method for the configuration
+         */
+        private StatusCode invoke(String method, ParentConfiguration config) {
+            try {
+                return (StatusCode) configurator.getClass().getMethod(method, config.getClass()).invoke(configurator, config);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            } catch (InvocationTargetException e) {
+                Log.error(e.getCause(), "Failed to {} {}!", method, deviceKey);
+                return StatusCode.StatusCodeNotInitialized;
+            }
+        }
+
+        /**
+         * @return Names of the groups applied so far
+         */
+        public List<String> getApplied() {
+            return applied;
+        }
+
+        /**
+         * @return Names of the groups skipped as unchanged so far
+         */
+        public List<String> getSkipped() {
+            return skipped;
+        }
+    }
+
+    // Helpers
+
+    private static List<Field> groups(ParentConfiguration configuration) {
+        List<Field> groups = new ArrayList<>();
+        for (Field field : configuration.getClass().getFields()) {
+            if (ParentConfiguration.class.isAssignableFrom(field.getType())) {
+                groups.add(field);
+            }
+        }
+        return groups;
+    }
+
+    private static ParentConfiguration group(Field field, ParentConfiguration configuration) {
+        try {
+            return (ParentConfiguration) field.get(configuration);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ParentConfiguration newInstance(ParentConfiguration configuration) {
+        try {
+            return configuration.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            Log.error(e, "Cannot create an empty {}!", configuration.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private static String fingerprint(ParentConfiguration configuration) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(configuration.serialize().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Persistence
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        if (FILE.isFile()) {
+            try (InputStream in = new FileInputStream(FILE)) {
+                properties.load(in);
+            } catch (IOException e) {
+                Log.warn("Could not read configuration fingerprints, every group will be applied: {}", e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static synchronized void save() {
+        try (OutputStream out = new FileOutputStream(FILE)) {
+            CACHE.store(out, "Device configuration fingerprints, generated by ConfigurationFingerprints");
+        } catch (IOException e) {
+            Log.warn("Could not write configuration fingerprints: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import com.ctre.phoenix6.controls.NeutralOut;
+import com.ctre.phoenix6.controls.PositionVoltage;
+import com.ctre.phoenix6.controls.VelocityVoltage;
+import com.ctre.phoenix6.hardware.TalonFX;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Routes every control request for a {@link TalonFX} through a deduplication layer which only sends a control frame when
+ * the control mode or target has changed since the last one sent. Each instance owns its own control requests, so they
+ * are never shared between motors. Control calls must all come from one thread, the counters may be read from any.
+ * <p>
+ * A device reset clears the motor's active request, so the next call after a reset is always sent. The reset flag is
+ * cleared by reading it, so it is only ever read here, and resets are counted for anyone else to see.
+ */
+public final class DeduplicatedTalonFX {
+    private enum Mode { NONE, NEUTRAL, POSITION, VELOCITY }
+
+    private final TalonFX motor;
+
+    private final NeutralOut neutral = new NeutralOut();
+    private final PositionVoltage position = new PositionVoltage(0);
+    private final VelocityVoltage velocity = new VelocityVoltage(0);
+
+    private Mode mode = Mode.NONE;
+    private double target = Double.NaN;
+
+    // Written only by the controlling thread, volatile so they can be read from any other.
+    private volatile long sent = 0;
+    private volatile long skipped = 0;
+    private volatile long resets = 0;
+    private volatile double lastSentTimestamp = Double.NaN;
+
+    public DeduplicatedTalonFX(TalonFX motor) {
+        this.motor = motor;
+    }
+
+    // Control
+
+    /**
+     * @param rotations Target position in rotations
+     * @return Whether a frame was sent
+     */
+    public boolean setPosition(double rotations) {
+        if (isDuplicate(Mode.POSITION, rotations)) { return false; }
+        motor.setControl(position.withPosition(rotations));
+        return true;
+    }
+
+    /**
+     * @param rps Target velocity in rotations per second
+     * @return Whether a frame was sent
+     */
+    public boolean setVelocity(double rps) {
+        if (isDuplicate(Mode.VELOCITY, rps)) { return false; }
+        motor.setControl(velocity.withVelocity(rps));
+        return true;
+    }
+
+    /**
+     * @return Whether a frame was sent
+     */
+    public boolean setNeutral() {
+        if (isDuplicate(Mode.NEUTRAL, 0)) { return false; }
+        motor.setControl(neutral);
+        return true;
+    }
+
+    /**
+     * Forces the next control request to be sent regardless of the last one.
+     */
+    public void invalidate() {
+        mode = Mode.NONE;
+    }
+
+    private boolean isDuplicate(Mode mode, double target) {
+        if (motor.hasResetOccurred()) {
+            resets++;
+            invalidate();
+        }
+        if (this.mode == mode && this.target == target) {
+            skipped++;
+            return true;
+        }
+        this.mode = mode;
+        this.target = target;
+        sent++;
+        lastSentTimestamp = Timer.getFPGATimestamp();
+        return false;
+    }
+
+    // Getters
+
+    public TalonFX getMotor() {
+        return motor;
+    }
+
+    /**
+     * @return Number of control frames sent
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * @return Number of control frames skipped as duplicates
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return Number of device resets seen by control calls
+     */
+    public long getResets() {
+        return resets;
+    }
+
+    /**
+     * @return FPGA timestamp of the last control frame sent in seconds, or NaN if none has been sent
+     */
+    public double getLastSentTimestamp() {
+        return lastSentTimestamp;
+    }
+}
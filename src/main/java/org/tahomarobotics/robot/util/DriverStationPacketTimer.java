@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import edu.wpi.first.hal.DriverStationJNI;
+import edu.wpi.first.util.WPIUtilJNI;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Timestamps the arrival of every Driver Station packet on a dedicated thread woken by the HAL's new data event, rather
+ * than at the start of the next loop. Works the same in simulation, where the simulated Driver Station raises the same
+ * event.
+ */
+public final class DriverStationPacketTimer {
+    private static final DriverStationPacketTimer INSTANCE = new DriverStationPacketTimer();
+
+    private volatile long lastPacketMicros = -1;
+
+    private DriverStationPacketTimer() {
+        Thread thread = new Thread(this::run, "DS Packet Timer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static DriverStationPacketTimer getInstance() {
+        return INSTANCE;
+    }
+
+    private void run() {
+        int event = WPIUtilJNI.createEvent(false, false);
+        DriverStationJNI.provideNewDataEventHandle(event);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WPIUtilJNI.waitForObject(event);
+                lastPacketMicros = RobotController.getFPGATime();
+            }
+        } catch (InterruptedException ignored) {
+        } finally {
+            DriverStationJNI.removeNewDataEventHandle(event);
+            WPIUtilJNI.destroyEvent(event);
+        }
+    }
+
+    /**
+     * @return FPGA timestamp of the latest Driver Station packet in seconds, or NaN if none has arrived
+     */
+    public double getLastPacketTimestamp() {
+        long micros = lastPacketMicros;
+        return micros < 0 ? Double.NaN : micros / 1e6;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import org.littletonrobotics.junction.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Accumulates execution times into a fixed-resolution histogram and publishes p50, p99 and max to AdvantageKit once per
+ * window. Recording is allocation-free; only the once-per-window publish touches the logger.
+ */
+public final class ExecutionTimeLogger {
+    /** Width of each histogram bucket. */
+    private static final long BUCKET_NANOS = 10_000;
+    /** Number of buckets, anything past the last bucket is clamped into it. */
+    private static final int BUCKET_COUNT = 4096;
+    /** Length of each publishing window. */
+    private static final long WINDOW_NANOS = 1_000_000_000;
+
+    private final String p50Key;
+    private final String p99Key;
+    private final String maxKey;
+    private final String countKey;
+
+    private final int[] buckets = new int[BUCKET_COUNT];
+    private int count = 0;
+    private long max = 0;
+    private long windowStart = System.nanoTime();
+
+    /**
+     * @param name Log key prefix, keys are built once here rather than every loop
+     */
+    public ExecutionTimeLogger(String name) {
+        p50Key = name + "/P50Ms";
+        p99Key = name + "/P99Ms";
+        maxKey = name + "/MaxMs";
+        countKey = name + "/Count";
+    }
+
+    /**
+     * Records an execution time.
+     *
+     * @param nanos Execution time in nanoseconds
+     * @param now   Current {@link System#nanoTime()}
+     */
+    public void record(long nanos, long now) {
+        int bucket = (int) Math.min(nanos / BUCKET_NANOS, BUCKET_COUNT - 1);
+        buckets[bucket]++;
+        count++;
+        if (nanos > max) { max = nanos; }
+
+        if (now - windowStart >= WINDOW_NANOS) {
+            publish();
+            windowStart = now;
+        }
+    }
+
+    private void publish() {
+        Logger.recordOutput(p50Key, percentile(0.50));
+        Logger.recordOutput(p99Key, percentile(0.99));
+        Logger.recordOutput(maxKey, max / 1e6);
+        Logger.recordOutput(countKey, count);
+
+        Arrays.fill(buckets, 0);
+        count = 0;
+        max = 0;
+    }
+
+    /**
+     * @return The upper edge of the bucket containing the given percentile, in milliseconds
+     */
+    private double percentile(double percentile) {
+        int target = (int) Math.ceil(count * percentile);
+        int seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min((i + 1) * BUCKET_NANOS, max) / 1e6;
+            }
+        }
+        return max / 1e6;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
+import org.littletonrobotics.junction.Logger;
+import org.tahomarobotics.robot.util.input.ControllerSnapshot;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Measures the latency from a controller input to the mechanism moving, split into stages so a slow response can be
+ * pinned on the Driver Station link, the loop, the CAN bus or the mechanism itself:
+ * <ol>
+ *     <li>PacketToTrigger: Driver Station packet arrival to the binding's trigger seeing the press</li>
+ *     <li>TriggerToSchedule: trigger edge to the bound command initializing</li>
+ *     <li>ScheduleToFrame: command initializing to the first control frame sent to a motor</li>
+ *     <li>FrameToMotion: control frame to the first status signal sample showing a response</li>
+ * </ol>
+ * All timestamps are on the FPGA clock, and the frame and motion timestamps come from the mechanism's inputs, so the
+ * same probes work in simulation and replay. The frame is the first one sent at or after the command initialized, not
+ * the latest, so a command which changes its target every loop is measured from the frame it caused. One measurement is
+ * in flight at a time; another press, or no response within {@link #TIMEOUT} seconds, ends it as incomplete.
+ */
+public final class LatencyProbe {
+    /**
+     * A mechanism whose response to its control frames can be measured.
+     */
+    public interface Mechanism {
+        /**
+         * Starts watching for the first control frame sent at or after the given time, and the mechanism's response to
+         * that frame. Replaces any frame already being watched.
+         *
+         * @param since FPGA timestamp in seconds
+         */
+        void awaitResponse(double since);
+
+        /**
+         * @return FPGA timestamp in seconds of the watched frame, or NaN until it has been sent
+         */
+        double getResponseFrameTimestamp();
+
+        /**
+         * @return FPGA timestamp in seconds of the first sample to show the mechanism moving from its state when the
+         * watched frame was sent, or NaN until it has
+         */
+        double getResponseTimestamp();
+    }
+
+    private static final double TIMEOUT = 2.0;
+    /** Width of each histogram bucket. */
+    private static final double BUCKET_SECONDS = 0.001;
+    /** Number of buckets, anything past the last bucket is clamped into it. */
+    private static final int BUCKET_COUNT = 1000;
+
+    private static final String[] STAGE_NAMES = {
+        "PacketToTrigger", "TriggerToSchedule", "ScheduleToFrame", "FrameToMotion", "Total"
+    };
+    private static final int PACKET_TO_TRIGGER = 0, TRIGGER_TO_SCHEDULE = 1, SCHEDULE_TO_FRAME = 2, FRAME_TO_MOTION = 3,
+        TOTAL = 4;
+
+    private enum Phase { IDLE, TRIGGERED, SCHEDULED, SENT }
+
+    private final ControllerSnapshot source;
+    private final Mechanism mechanism;
+    private final Set<Command> commands = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Histogram[] stages = new Histogram[STAGE_NAMES.length];
+    private final String countKey;
+    private final String incompleteKey;
+    private long count = 0;
+    private long incomplete = 0;
+
+    // -- Measurement --
+
+    private Phase phase = Phase.IDLE;
+    private double packet = Double.NaN;
+    private double trigger = Double.NaN;
+    private double schedule = Double.NaN;
+    private double frame = Double.NaN;
+
+    /**
+     * @param name      Log key prefix under {@code Latency/}
+     * @param source    Controller the bound triggers read
+     * @param mechanism Mechanism the bound commands control
+     */
+    public LatencyProbe(String name, ControllerSnapshot source, Mechanism mechanism) {
+        this.source = source;
+        this.mechanism = mechanism;
+
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new Histogram("Latency/" + name + "/" + STAGE_NAMES[i]);
+        }
+        countKey = "Latency/" + name + "/Count";
+        incompleteKey = "Latency/" + name + "/Incomplete";
+
+        CommandScheduler.getInstance().onCommandInitialize(this::initialize);
+    }
+
+    /**
+     * Binds a command to run when the trigger becomes active, measuring each press. Use in place of
+     * {@link Trigger#onTrue(Command)}.
+     *
+     * @param trigger Trigger reading {@link #source}
+     * @param command Command to schedule
+     */
+    public void bind(Trigger trigger, Command command) {
+        commands.add(command);
+
+        // Bound ahead of onTrue so the edge is marked before the command is scheduled in the same poll.
+        boolean[] last = {false};
+        CommandScheduler.getInstance().getDefaultButtonLoop().bind(() -> {
+            boolean current = trigger.getAsBoolean();
+            if (current && !last[0]) { press(); }
+            last[0] = current;
+        });
+        trigger.onTrue(command);
+    }
+
+    // -- Recording --
+
+    private void press() {
+        if (phase != Phase.IDLE) { end(false); }
+
+        phase = Phase.TRIGGERED;
+        trigger = Timer.getFPGATimestamp();
+        packet = source.getPacketTimestamp();
+    }
+
+    private void initialize(Command command) {
+        if (phase == Phase.TRIGGERED && commands.contains(command)) {
+            phase = Phase.SCHEDULED;
+            schedule = Timer.getFPGATimestamp();
+            mechanism.awaitResponse(schedule);
+        }
+    }
+
+    /**
+     * Picks up the frame and motion timestamps of an in-flight measurement. Call once per loop.
+     */
+    public void update() {
+        if (phase == Phase.IDLE) { return; }
+
+        if (phase == Phase.SCHEDULED) {
+            double sent = mechanism.getResponseFrameTimestamp();
+            if (!Double.isNaN(sent)) {
+                phase = Phase.SENT;
+                frame = sent;
+            }
+        }
+        if (phase == Phase.SENT) {
+            double motion = mechanism.getResponseTimestamp();
+            if (!Double.isNaN(motion)) {
+                stages[FRAME_TO_MOTION].record(motion - frame);
+                stages[TOTAL].record(motion - (packet <= trigger ? packet : trigger));
+                end(true);
+                return;
+            }
+        }
+
+        if (Timer.getFPGATimestamp() - trigger > TIMEOUT) { end(false); }
+    }
+
+    /**
+     * Records the stages reached so far and returns to idle.
+     */
+    private void end(boolean complete) {
+        // A packet timestamp newer than the press belongs to a later packet than the one which caused it.
+        if (packet <= trigger) { stages[PACKET_TO_TRIGGER].record(trigger - packet); }
+        if (phase != Phase.TRIGGERED) { stages[TRIGGER_TO_SCHEDULE].record(schedule - trigger); }
+        if (phase == Phase.SENT) { stages[SCHEDULE_TO_FRAME].record(frame - schedule); }
+
+        if (complete) {
+            count++;
+        } else {
+            incomplete++;
+        }
+        Logger.recordOutput(countKey, count);
+        Logger.recordOutput(incompleteKey, incomplete);
+
+        phase = Phase.IDLE;
+        packet = trigger = schedule = frame = Double.NaN;
+    }
+
+    /**
+     * Cumulative fixed-resolution histogram of one stage, published whenever a latency is recorded.
+     */
+    private static final class Histogram {
+        private final String lastKey;
+        private final String p50Key;
+        private final String p99Key;
+        private final String maxKey;
+
+        private final int[] buckets = new int[BUCKET_COUNT];
+        private int count = 0;
+        private double max = 0;
+
+        private Histogram(String name) {
+            lastKey = name + "/LastMs";
+            p50Key = name + "/P50Ms";
+            p99Key = name + "/P99Ms";
+            maxKey = name + "/MaxMs";
+        }
+
+        private void record(double seconds) {
+            seconds = Math.max(seconds, 0);
+            buckets[(int) Math.min(seconds / BUCKET_SECONDS, BUCKET_COUNT - 1)]++;
+            count++;
+            if (seconds > max) { max = seconds; }
+
+            Logger.recordOutput(lastKey, seconds * 1e3);
+            Logger.recordOutput(p50Key, percentile(0.50));
+            Logger.recordOutput(p99Key, percentile(0.99));
+            Logger.recordOutput(maxKey, max * 1e3);
+        }
+
+        /**
+         * @return The upper edge of the bucket containing the given percentile, in milliseconds
+         */
+        private double percentile(double percentile) {
+            int target = (int) Math.ceil(count * percentile);
+            int seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return Math.min((i + 1) * BUCKET_SECONDS, max) * 1e3;
+                }
+            }
+            return max * 1e3;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import org.littletonrobotics.junction.LogDataReceiver;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.Logger;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Off-thread replacement for the disabled {@link edu.wpi.first.wpilibj.Watchdog}. Loops are timed over the full
+ * AdvantageKit cycle, from the start of {@code Logger.periodicBeforeUser()} to the end of
+ * {@code Logger.periodicAfterUser()}, so logging time counts towards an overrun just as it does on the robot. Robot
+ * code only runs in the middle of that cycle, so the main thread just tags each loop with its index; the
+ * {@link #getCycleReceiver() cycle receiver} reads the cycle's start and AdvantageKit's measured duration from each
+ * logged table and stores them into a preallocated ring. A background thread computes period jitter, overrun counts
+ * and keeps a bounded set of the longest overrunning epochs. Statistics are handed back through a sequence lock and
+ * logged from the main thread once per window, so the monitor prints nothing and logs one value per loop on the main
+ * thread.
+ * <p>
+ * A run of loops can also be captured on its own with {@link #captureNext(String, int)}, e.g. the first enabled loops,
+ * whose durations show how much is still being loaded and compiled when the robot starts moving.
+ */
+public final class LoopMonitor implements AutoCloseable {
+    private static final int RING_CAPACITY = 256;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+    private static final int WORST_CAPACITY = 8;
+
+    private static final long ANALYSIS_PERIOD_NANOS = 100_000_000;
+
+    private static final String LOOP_KEY = "LoopMonitor/Loop";
+    // Recorded by AdvantageKit at the end of every cycle, before the table is handed to the receivers.
+    private static final String TABLE_LOOP_KEY = "RealOutputs/" + LOOP_KEY;
+    private static final String TABLE_FULL_CYCLE_KEY = "RealOutputs/LoggedRobot/FullCycleMS";
+    private static final long WINDOW_NANOS = 1_000_000_000;
+
+    private final long periodNanos;
+
+    // -- Cycle Receiver -> Monitor --
+
+    private final long[] loops = new long[RING_CAPACITY];
+    private final long[] starts = new long[RING_CAPACITY];
+    private final long[] ends = new long[RING_CAPACITY];
+    private volatile long writeIndex = 0;
+    private volatile long readIndex = 0;
+    private volatile long droppedEpochs = 0;
+    private final CycleReceiver cycleReceiver = new CycleReceiver();
+
+    // -- Main Thread --
+
+    private long loop = 0;
+    // First loop of the capture, written after its length so the monitor always sees a matching pair.
+    private volatile long captureFrom = -1;
+    private volatile int captureLoops = 0;
+
+    // -- Monitor State --
+
+    private long previousStart = -1;
+    private long windowStart = System.nanoTime();
+    private int windowLoops = 0;
+    private double windowPeriodSum = 0;
+    private double windowPeriodSquareSum = 0;
+    private long windowMaxJitter = 0;
+    private long windowMaxDuration = 0;
+    private int windowOverruns = 0;
+    private long totalOverruns = 0;
+
+    private final long[] worstLoops = new long[WORST_CAPACITY];
+    // Unused entries have a duration of zero, so they are filled first.
+    private final long[] worstDurations = new long[WORST_CAPACITY];
+
+    private long capturedFrom = -1;
+    private int captured = 0;
+    private long captureDurationSum = 0;
+    private long captureMaxDuration = 0;
+    private int captureOverruns = 0;
+
+    // -- Monitor -> Main Thread --
+
+    private volatile int sequence = 0;
+    private double publishedMeanPeriodMs, publishedJitterStdDevMs, publishedMaxJitterMs, publishedMaxDurationMs;
+    private int publishedOverruns;
+    private long publishedTotalOverruns, publishedDroppedEpochs;
+    private final long[] publishedWorstLoops = new long[WORST_CAPACITY];
+    private final double[] publishedWorstDurationsMs = new double[WORST_CAPACITY];
+    private int publishedCaptured, publishedCaptureOverruns;
+    private double publishedCaptureMeanMs, publishedCaptureMaxMs;
+
+    private int loggedSequence = 0;
+    private double meanPeriodMs, jitterStdDevMs, maxJitterMs, maxDurationMs;
+    private int overruns;
+    private long totalOverrunsLogged, droppedEpochsLogged;
+    private final long[] worstLoopsLogged = new long[WORST_CAPACITY];
+    private final double[] worstDurationsMsLogged = new double[WORST_CAPACITY];
+    private int capturedLogged, captureOverrunsLogged;
+    private double captureMeanMsLogged, captureMaxMsLogged;
+    private String captureCountKey, captureMeanKey, captureMaxKey, captureOverrunsKey;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param periodSeconds Nominal loop period in seconds
+     */
+    public LoopMonitor(double periodSeconds) {
+        periodNanos = (long) (periodSeconds * 1e9);
+
+        thread = new Thread(this::run, "Loop Monitor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    // Main Thread
+
+    /**
+     * Marks the start of a loop, tagging the cycle's table with its index. Call first thing in the loop.
+     */
+    public void start() {
+        Logger.recordOutput(LOOP_KEY, loop);
+    }
+
+    /**
+     * Marks the end of the robot code in a loop started by {@link #start()}. The loop itself is timed once AdvantageKit
+     * finishes the cycle.
+     */
+    public void end() {
+        loop++;
+    }
+
+    /**
+     * @return Receiver which times each cycle from its logged table, add it before AdvantageKit starts
+     */
+    public LogDataReceiver getCycleReceiver() {
+        return cycleReceiver;
+    }
+
+    /**
+     * Captures the durations of the next loops on their own, replacing any capture already running. Logged under
+     * {@code LoopMonitor/<name>/} along with the window statistics once the first of them has been analyzed.
+     *
+     * @param name  Log key under {@code LoopMonitor/}
+     * @param loops Number of loops to capture, starting with the next one to start
+     */
+    public void captureNext(String name, int loops) {
+        String prefix = "LoopMonitor/" + name + "/";
+        captureCountKey = prefix + "Count";
+        captureMeanKey = prefix + "MeanDurationMs";
+        captureMaxKey = prefix + "MaxDurationMs";
+        captureOverrunsKey = prefix + "Overruns";
+
+        captureLoops = loops;
+        captureFrom = loop;
+    }
+
+    /**
+     * Logs the latest statistics if the monitor has published a new window since the last call.
+     */
+    public void log() {
+        int before = sequence;
+        if (before == loggedSequence || (before & 1) != 0) { return; }
+
+        meanPeriodMs = publishedMeanPeriodMs;
+        jitterStdDevMs = publishedJitterStdDevMs;
+        maxJitterMs = publishedMaxJitterMs;
+        maxDurationMs = publishedMaxDurationMs;
+        overruns = publishedOverruns;
+        totalOverrunsLogged = publishedTotalOverruns;
+        droppedEpochsLogged = publishedDroppedEpochs;
+        System.arraycopy(publishedWorstLoops, 0, worstLoopsLogged, 0, WORST_CAPACITY);
+        System.arraycopy(publishedWorstDurationsMs, 0, worstDurationsMsLogged, 0, WORST_CAPACITY);
+        capturedLogged = publishedCaptured;
+        captureOverrunsLogged = publishedCaptureOverruns;
+        captureMeanMsLogged = publishedCaptureMeanMs;
+        captureMaxMsLogged = publishedCaptureMaxMs;
+
+        // The monitor published again while copying, try again next loop.
+        VarHandle.acquireFence();
+        if (sequence != before) { return; }
+        loggedSequence = before;
+
+        Logger.recordOutput("LoopMonitor/MeanPeriodMs", meanPeriodMs);
+        Logger.recordOutput("LoopMonitor/JitterStdDevMs", jitterStdDevMs);
+        Logger.recordOutput("LoopMonitor/MaxJitterMs", maxJitterMs);
+        Logger.recordOutput("LoopMonitor/MaxDurationMs", maxDurationMs);
+        Logger.recordOutput("LoopMonitor/Overruns", overruns);
+        Logger.recordOutput("LoopMonitor/TotalOverruns", totalOverrunsLogged);
+        Logger.recordOutput("LoopMonitor/DroppedEpochs", droppedEpochsLogged);
+        Logger.recordOutput("LoopMonitor/WorstEpochs/Loop", worstLoopsLogged);
+        Logger.recordOutput("LoopMonitor/WorstEpochs/DurationMs", worstDurationsMsLogged);
+
+        if (captureCountKey != null && capturedLogged > 0) {
+            Logger.recordOutput(captureCountKey, capturedLogged);
+            Logger.recordOutput(captureMeanKey, captureMeanMsLogged);
+            Logger.recordOutput(captureMaxKey, captureMaxMsLogged);
+            Logger.recordOutput(captureOverrunsKey, captureOverrunsLogged);
+        }
+    }
+
+    /**
+     * @return Index of the loop in progress, or of the next loop between loops
+     */
+    public long getLoop() {
+        return loop;
+    }
+
+    // Cycle Receiver
+
+    /**
+     * Runs on AdvantageKit's receiver thread, the only writer of the ring. Times come from the table rather than the
+     * clock, so a late hand over does not skew them.
+     */
+    private final class CycleReceiver implements LogDataReceiver {
+        @Override
+        public void putTable(LogTable table) {
+            // Cycles without robot code, such as the one after robotInit, are not loops.
+            long tableLoop = table.get(TABLE_LOOP_KEY, -1L);
+            double fullCycleMs = table.get(TABLE_FULL_CYCLE_KEY, Double.NaN);
+            if (tableLoop < 0 || Double.isNaN(fullCycleMs)) { return; }
+
+            long index = writeIndex;
+            if (index - readIndex >= RING_CAPACITY) {
+                droppedEpochs++;
+                return;
+            }
+            long start = table.getTimestamp() * 1000;
+            int slot = (int) (index & RING_MASK);
+            loops[slot] = tableLoop;
+            starts[slot] = start;
+            ends[slot] = start + (long) (fullCycleMs * 1e6);
+            writeIndex = index + 1;
+        }
+    }
+
+    // Monitor Thread
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(ANALYSIS_PERIOD_NANOS);
+
+            long read = readIndex;
+            long write = writeIndex;
+            for (long i = read; i < write; i++) {
+                int slot = (int) (i & RING_MASK);
+                analyze(loops[slot], starts[slot], ends[slot]);
+            }
+            readIndex = write;
+
+            long now = System.nanoTime();
+            if (now - windowStart >= WINDOW_NANOS) {
+                publish();
+                windowStart = now;
+            }
+        }
+    }
+
+    private void analyze(long loop, long start, long end) {
+        long duration = end - start;
+        if (duration > windowMaxDuration) { windowMaxDuration = duration; }
+
+        if (duration > periodNanos) {
+            windowOverruns++;
+            totalOverruns++;
+            recordWorst(loop, duration);
+        }
+        capture(loop, duration);
+
+        if (previousStart >= 0) {
+            long period = start - previousStart;
+            long jitter = Math.abs(period - periodNanos);
+            if (jitter > windowMaxJitter) { windowMaxJitter = jitter; }
+
+            windowLoops++;
+            windowPeriodSum += period;
+            windowPeriodSquareSum += (double) period * period;
+        }
+        previousStart = start;
+    }
+
+    /**
+     * Keeps the longest overruns seen, replacing the shortest held when a longer one comes in.
+     */
+    private void recordWorst(long loop, long duration) {
+        int shortest = 0;
+        for (int i = 1; i < WORST_CAPACITY; i++) {
+            if (worstDurations[i] < worstDurations[shortest]) { shortest = i; }
+        }
+        if (duration > worstDurations[shortest]) {
+            worstLoops[shortest] = loop;
+            worstDurations[shortest] = duration;
+        }
+    }
+
+    private void capture(long loop, long duration) {
+        long from = captureFrom;
+        if (from != capturedFrom) {
+            capturedFrom = from;
+            captured = 0;
+            captureDurationSum = 0;
+            captureMaxDuration = 0;
+            captureOverruns = 0;
+        }
+        if (from < 0 || loop < from || captured >= captureLoops) { return; }
+
+        captured++;
+        captureDurationSum += duration;
+        if (duration > captureMaxDuration) { captureMaxDuration = duration; }
+        if (duration > periodNanos) { captureOverruns++; }
+    }
+
+    private void publish() {
+        double mean = windowLoops == 0 ? 0 : windowPeriodSum / windowLoops;
+        double variance = windowLoops == 0 ? 0 : windowPeriodSquareSum / windowLoops - mean * mean;
+
+        sequence++;
+        VarHandle.storeStoreFence();
+        publishedMeanPeriodMs = mean / 1e6;
+        publishedJitterStdDevMs = Math.sqrt(Math.max(variance, 0)) / 1e6;
+        publishedMaxJitterMs = windowMaxJitter / 1e6;
+        publishedMaxDurationMs = windowMaxDuration / 1e6;
+        publishedOverruns = windowOverruns;
+        publishedTotalOverruns = totalOverruns;
+        publishedDroppedEpochs = droppedEpochs;
+        for (int i = 0; i < WORST_CAPACITY; i++) {
+            publishedWorstLoops[i] = worstLoops[i];
+            publishedWorstDurationsMs[i] = worstDurations[i] / 1e6;
+        }
+        publishedCaptured = captured;
+        publishedCaptureOverruns = captureOverruns;
+        publishedCaptureMeanMs = captured == 0 ? 0 : captureDurationSum / 1e6 / captured;
+        publishedCaptureMaxMs = captureMaxDuration / 1e6;
+        sequence++;
+
+        windowLoops = 0;
+        windowPeriodSum = 0;
+        windowPeriodSquareSum = 0;
+        windowMaxJitter = 0;
+        windowMaxDuration = 0;
+        windowOverruns = 0;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+}
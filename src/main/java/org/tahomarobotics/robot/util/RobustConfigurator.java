@@ -30,8 +30,16 @@ import com.ctre.phoenix6.hardware.CANcoder;
 import com.ctre.phoenix6.hardware.CANrange;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.NeutralModeValue;
-import org.tinylog.Logger;
+import org.tahomarobotics.robot.util.logging.Log;
+import org.tinylog.Level;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -41,6 +49,16 @@ public class RobustConfigurator {
      * Number of configuration attempts.
      */
     private static final int RETRIES = 5;
+    /**
+     * Delay before the first retry, doubled for every retry after with up to the same amount of random jitter added.
+     */
+    private static final long BASE_BACKOFF_MS = 10;
+    /**
+     * Maximum number of devices configured at once by a batch.
+     */
+    private static final int BATCH_THREADS = 4;
+
+    private static final Log.Template CONFIGURED = Log.template(Level.INFO, "Successfully configured {} in {} attempt(s)!");
 
     // Retrying Configurator
 
@@ -54,25 +72,193 @@ public class RobustConfigurator {
      */
     @SuppressWarnings("SameParameterValue")
     private static StatusCode tryConfigure(String specifier, Supplier<StatusCode> config) {
+        return tryConfigureWithResult(specifier, config).status();
+    }
+
+    /**
+     * Attempts to run the configuration function until success or RETRIES, backing off exponentially with jitter between
+     * attempts so devices retried concurrently do not retry in lockstep.
+     *
+     * @param specifier Specifier for the device(s)
+     * @param config    Configuration function
+     *
+     * @return Resulting status code, attempt count and time taken
+     */
+    private static DeviceResult tryConfigureWithResult(String specifier, Supplier<StatusCode> config) {
+        long start = System.nanoTime();
         StatusCode statusCode = StatusCode.StatusCodeNotInitialized;
+        int attempts = 0;
         for (int i = 0; i < RETRIES; i++) {
+            attempts++;
             statusCode = config.get();
             if (statusCode.isOK()) {
-                Logger.info("Successfully configured {} in {} attempt{}!", specifier, i + 1, i == 0 ? "" : "s");
+                CONFIGURED.log(specifier, i + 1);
                 break;
             } else if (statusCode.isWarning()) {
-                Logger.warn(
+                Log.warn(
                     "[{}/{}] Configuring {} returned warning status code: {}, retrying...", i + 1, RETRIES, specifier,
                     statusCode
                 );
             } else {
-                Logger.error(
+                Log.error(
                     "[{}/{}] Configuring {} returned error status code: {}, retrying...", i + 1, RETRIES, specifier,
                     statusCode
                 );
             }
+            if (i < RETRIES - 1 && !backoff(i)) { break; }
+        }
+        List<String> skipped = config instanceof ConfigurationFingerprints.Apply apply ? List.copyOf(apply.getSkipped()) : List.of();
+        return new DeviceResult(specifier, statusCode, attempts, (System.nanoTime() - start) / 1e9, skipped);
+    }
+
+    /**
+     * Sleeps before the next attempt.
+     *
+     * @param attempt Zero-based index of the failed attempt
+     *
+     * @return Whether to keep retrying, false if interrupted
+     */
+    private static boolean backoff(int attempt) {
+        long delay = BASE_BACKOFF_MS << attempt;
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Batch Configurator
+
+    /**
+     * Starts a batch of device configurations which are applied concurrently.
+     *
+     * @return A new, empty batch
+     */
+    public static Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * A set of device configurations applied concurrently on a small executor, each with its own retries.
+     */
+    public static final class Batch {
+        private final List<String> specifiers = new ArrayList<>();
+        private final List<Supplier<StatusCode>> configs = new ArrayList<>();
+
+        private Batch() {}
+
+        public Batch talonFX(String deviceName, TalonFX motor, TalonFXConfiguration configuration) {
+            return add("TalonFX '" + deviceName + "'", ConfigurationFingerprints.of(motor, motor.getConfigurator(), configuration));
+        }
+
+        public Batch modifyTalonFX(String deviceName, TalonFX motor, Consumer<TalonFXConfiguration> modification) {
+            return add(
+                "TalonFX '" + deviceName + "'",
+                ConfigurationFingerprints.modify(motor, motor.getConfigurator(), new TalonFXConfiguration(), modification)
+            );
+        }
+
+        public Batch cancoder(String deviceName, CANcoder encoder, CANcoderConfiguration configuration) {
+            return add("CANcoder '" + deviceName + "'", ConfigurationFingerprints.of(encoder, encoder.getConfigurator(), configuration));
+        }
+
+        public Batch canrange(String deviceName, CANrange canRange, CANrangeConfiguration configuration) {
+            return add(
+                "CANrange '" + deviceName + "'", ConfigurationFingerprints.of(canRange, canRange.getConfigurator(), configuration));
+        }
+
+        private Batch add(String specifier, Supplier<StatusCode> config) {
+            specifiers.add(specifier);
+            configs.add(config);
+            return this;
+        }
+
+        /**
+         * Applies every configuration in the batch, blocking until all have finished, and logs a startup report.
+         *
+         * @return The aggregated result
+         */
+        public BatchResult apply() {
+            long start = System.nanoTime();
+            List<DeviceResult> results = new ArrayList<>(configs.size());
+
+            ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(BATCH_THREADS, configs.size())), r -> {
+                    Thread thread = new Thread(r, "Robust Configurator");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+            try {
+                List<Future<DeviceResult>> futures = new ArrayList<>(configs.size());
+                for (int i = 0; i < configs.size(); i++) {
+                    String specifier = specifiers.get(i);
+                    Supplier<StatusCode> config = configs.get(i);
+                    futures.add(executor.submit(() -> tryConfigureWithResult(specifier, config)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        results.add(futures.get(i).get());
+                    } catch (ExecutionException e) {
+                        Log.error(e.getCause(), "Configuring {} threw an exception!", specifiers.get(i));
+                        results.add(new DeviceResult(specifiers.get(i), StatusCode.StatusCodeNotInitialized, 0, 0, List.of()));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        results.add(new DeviceResult(specifiers.get(i), StatusCode.StatusCodeNotInitialized, 0, 0, List.of()));
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            BatchResult result = new BatchResult(results, (System.nanoTime() - start) / 1e9);
+            result.log();
+            return result;
+        }
+    }
+
+    /**
+     * Result of configuring a single device.
+     *
+     * @param specifier Specifier for the device
+     * @param status    Final status code
+     * @param attempts  Number of attempts made
+     * @param seconds   Time taken including backoff
+     * @param skipped   Configuration groups skipped because the device already held them
+     */
+    public record DeviceResult(String specifier, StatusCode status, int attempts, double seconds, List<String> skipped) {}
+
+    /**
+     * Result of configuring a batch of devices.
+     *
+     * @param devices Per-device results, in the order the devices were added
+     * @param seconds Wall time for the whole batch
+     */
+    public record BatchResult(List<DeviceResult> devices, double seconds) {
+        /**
+         * @return Whether every device was configured successfully
+         */
+        public boolean isOK() {
+            return devices.stream().allMatch(d -> d.status().isOK());
+        }
+
+        private void log() {
+            long failed = devices.stream().filter(d -> !d.status().isOK()).count();
+            int skipped = devices.stream().mapToInt(d -> d.skipped().size()).sum();
+            Log.info(
+                "Configured {} device{} in {} ms ({} failed, {} unchanged group{} skipped):", devices.size(),
+                devices.size() == 1 ? "" : "s", String.format("%.1f", seconds * 1000), failed, skipped, skipped == 1 ? "" : "s"
+            );
+            for (DeviceResult device : devices) {
+                Log.info(
+                    "  {}: {} after {} attempt{} in {} ms, skipped {}", device.specifier(), device.status(),
+                    device.attempts(), device.attempts() == 1 ? "" : "s", String.format("%.1f", device.seconds() * 1000),
+                    device.skipped().isEmpty() ? "nothing" : String.join(", ", device.skipped())
+                );
+            }
         }
-        return statusCode;
     }
 
     // Device Configurators
@@ -87,7 +273,7 @@ public class RobustConfigurator {
      * @return The resulting status code
      */
     public static StatusCode tryConfigureTalonFX(String deviceName, TalonFX motor, TalonFXConfiguration configuration) {
-        return tryConfigure("TalonFX '" + deviceName + "'", () -> motor.getConfigurator().apply(configuration));
+        return tryConfigure("TalonFX '" + deviceName + "'", ConfigurationFingerprints.of(motor, motor.getConfigurator(), configuration));
     }
 
     /**
@@ -101,11 +287,10 @@ public class RobustConfigurator {
      */
     public static StatusCode tryModifyTalonFX(
         String deviceName, TalonFX motor, Consumer<TalonFXConfiguration> modification) {
-        var config = new TalonFXConfiguration();
-        motor.getConfigurator().refresh(config);
-        modification.accept(config);
-
-        return tryConfigureTalonFX(deviceName, motor, config);
+        return tryConfigure(
+            "TalonFX '" + deviceName + "'",
+            ConfigurationFingerprints.modify(motor, motor.getConfigurator(), new TalonFXConfiguration(), modification)
+        );
     }
 
     /**
@@ -119,7 +304,8 @@ public class RobustConfigurator {
      */
     public static StatusCode tryConfigureCANcoder(
         String deviceName, CANcoder encoder, CANcoderConfiguration configuration) {
-        return tryConfigure("CANcoder '" + deviceName + "'", () -> encoder.getConfigurator().apply(configuration));
+        return tryConfigure(
+            "CANcoder '" + deviceName + "'", ConfigurationFingerprints.of(encoder, encoder.getConfigurator(), configuration));
     }
 
     /**
@@ -133,11 +319,10 @@ public class RobustConfigurator {
      */
     public static StatusCode tryModifyCANcoder(
         String deviceName, CANcoder encoder, Consumer<CANcoderConfiguration> modification) {
-        var config = new CANcoderConfiguration();
-        encoder.getConfigurator().refresh(config);
-        modification.accept(config);
-
-        return tryConfigureCANcoder(deviceName, encoder, config);
+        return tryConfigure(
+            "CANcoder '" + deviceName + "'",
+            ConfigurationFingerprints.modify(encoder, encoder.getConfigurator(), new CANcoderConfiguration(), modification)
+        );
     }
 
     /**
@@ -149,7 +334,8 @@ public class RobustConfigurator {
      */
     public static StatusCode tryConfigureCANrange(
         String deviceName, CANrange canRange, CANrangeConfiguration configuration) {
-        return tryConfigure("CANrange '" + deviceName + "'", () -> canRange.getConfigurator().apply(configuration));
+        return tryConfigure(
+            "CANrange '" + deviceName + "'", ConfigurationFingerprints.of(canRange, canRange.getConfigurator(), configuration));
     }
 
     /**
@@ -161,11 +347,10 @@ public class RobustConfigurator {
      */
     public static StatusCode tryModifyCANrange(
         String deviceName, CANrange canRange, Consumer<CANrangeConfiguration> modification) {
-        var config = new CANrangeConfiguration();
-        canRange.getConfigurator().refresh(config);
-        modification.accept(config);
-
-        return tryConfigureCANrange(deviceName, canRange, config);
+        return tryConfigure(
+            "CANrange '" + deviceName + "'",
+            ConfigurationFingerprints.modify(canRange, canRange.getConfigurator(), new CANrangeConfiguration(), modification)
+        );
     }
 
 
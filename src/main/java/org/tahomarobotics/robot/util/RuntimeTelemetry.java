@@ -0,0 +1,265 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.littletonrobotics.junction.Logger;
+import org.tahomarobotics.robot.util.logging.Log;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * JVM health telemetry. Every garbage collection is reported by the JVM on its own notification thread and handed to
+ * the main thread through a fixed-size ring. There it is tagged with the {@link LoopMonitor} loop it started in, found
+ * from its start time against the end times of recent loops, so pauses line up with
+ * {@code LoopMonitor/WorstEpochs/Loop} and an overrun can be pinned on a collection. The reports themselves can trail
+ * the pause by several loops. Allocation rate, heap occupancy, CPU time and class loading are sampled at a low rate
+ * from the main thread.
+ */
+public final class RuntimeTelemetry {
+    private static final int RING_CAPACITY = 64;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+    private static final long SAMPLE_PERIOD_NANOS = 1_000_000_000;
+    /** Loops whose end times are kept to tag collections with, older collections are tagged -1. */
+    private static final int HISTORY_CAPACITY = 256;
+    private static final int HISTORY_MASK = HISTORY_CAPACITY - 1;
+
+    private final LoopMonitor loopMonitor;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    /** {@link System#nanoTime()} at JVM start, to which collection start times are relative, to a millisecond. */
+    private final long jvmStartNanos =
+        System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+
+    // -- Notification Thread -> Main Thread --
+
+    private final long[] gcStarts = new long[RING_CAPACITY];
+    private final double[] gcDurationsMs = new double[RING_CAPACITY];
+    private final long[] gcLiveBytes = new long[RING_CAPACITY];
+    private final long[] gcFreedBytes = new long[RING_CAPACITY];
+    private final String[] gcCollectors = new String[RING_CAPACITY];
+    private final String[] gcCauses = new String[RING_CAPACITY];
+    private volatile long gcWriteIndex = 0;
+    private volatile long gcReadIndex = 0;
+    private volatile long droppedGcEvents = 0;
+
+    // -- Loops --
+
+    private final long[] loopEnds = new long[HISTORY_CAPACITY];
+    private long lastLoop = -1;
+
+    // -- Collections --
+
+    private long gcCount = 0;
+    private double gcTotalPauseMs = 0;
+    private double gcWindowMaxPauseMs = 0;
+    private int gcWindowCount = 0;
+
+    // -- Samples --
+
+    private final long mainThreadId = Thread.currentThread().getId();
+    private final boolean allocationSupported;
+    private final boolean cpuTimeSupported;
+
+    private long lastSample = System.nanoTime();
+    private long lastAllocatedBytes;
+    private long lastHeapUsedBytes;
+    private long freedBytes = 0;
+    private long lastCpuNanos;
+
+    /**
+     * Must be constructed on the main thread, which is the thread whose allocation and CPU time are sampled.
+     *
+     * @param loopMonitor Monitor of the main loop, whose loop indices collections are tagged with
+     */
+    public RuntimeTelemetry(LoopMonitor loopMonitor) {
+        this.loopMonitor = loopMonitor;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener((notification, handback) -> onNotification(notification), null, null);
+            }
+        }
+
+        allocationSupported = threads instanceof com.sun.management.ThreadMXBean ext &&
+                              ext.isThreadAllocatedMemorySupported() && ext.isThreadAllocatedMemoryEnabled();
+        cpuTimeSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        if (!allocationSupported || !cpuTimeSupported) {
+            Log.warn("Runtime telemetry is missing allocation ({}) or CPU time ({}) support", allocationSupported,
+                     cpuTimeSupported);
+        }
+
+        lastAllocatedBytes = getAllocatedBytes();
+        lastHeapUsedBytes = memory.getHeapMemoryUsage().getUsed();
+        lastCpuNanos = getCpuNanos();
+    }
+
+    // Notification Thread
+
+    private void onNotification(Notification notification) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) { return; }
+        var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+
+        long live = 0, before = 0;
+        for (MemoryUsage usage : info.getGcInfo().getMemoryUsageAfterGc().values()) {
+            live += usage.getUsed();
+        }
+        for (MemoryUsage usage : info.getGcInfo().getMemoryUsageBeforeGc().values()) {
+            before += usage.getUsed();
+        }
+
+        long index = gcWriteIndex;
+        if (index - gcReadIndex >= RING_CAPACITY) {
+            droppedGcEvents++;
+            return;
+        }
+        int slot = (int) (index & RING_MASK);
+        gcStarts[slot] = jvmStartNanos + info.getGcInfo().getStartTime() * 1_000_000;
+        gcDurationsMs[slot] = info.getGcInfo().getDuration();
+        gcLiveBytes[slot] = live;
+        gcFreedBytes[slot] = before - live;
+        gcCollectors[slot] = info.getGcName();
+        gcCauses[slot] = info.getGcCause();
+        gcWriteIndex = index + 1;
+    }
+
+    // Main Thread
+
+    /**
+     * Logs any collections reported since the last call, and a new sample once per period. Call once per loop, right
+     * after {@link LoopMonitor#end()}.
+     */
+    public void log() {
+        long now = System.nanoTime();
+        lastLoop = loopMonitor.getLoop() - 1;
+        loopEnds[(int) (lastLoop & HISTORY_MASK)] = now;
+
+        long read = gcReadIndex;
+        long write = gcWriteIndex;
+        for (long i = read; i < write; i++) {
+            int slot = (int) (i & RING_MASK);
+            double duration = gcDurationsMs[slot];
+            gcCount++;
+            gcWindowCount++;
+            gcTotalPauseMs += duration;
+            freedBytes += gcFreedBytes[slot];
+            if (duration > gcWindowMaxPauseMs) { gcWindowMaxPauseMs = duration; }
+
+            // Several in one loop are rare, the last one wins and the counts still add up.
+            Logger.recordOutput("Runtime/GC/Last/Loop", findLoop(gcStarts[slot]));
+            Logger.recordOutput("Runtime/GC/Last/DurationMs", duration);
+            Logger.recordOutput("Runtime/GC/Last/LiveBytes", gcLiveBytes[slot]);
+            Logger.recordOutput("Runtime/GC/Last/Collector", gcCollectors[slot]);
+            Logger.recordOutput("Runtime/GC/Last/Cause", gcCauses[slot]);
+        }
+        if (write != read) {
+            gcReadIndex = write;
+            Logger.recordOutput("Runtime/GC/Count", gcCount);
+            Logger.recordOutput("Runtime/GC/TotalPauseMs", gcTotalPauseMs);
+        }
+
+        if (now - lastSample >= SAMPLE_PERIOD_NANOS) {
+            sample(now);
+        }
+    }
+
+    private void sample(long now) {
+        double seconds = (now - lastSample) / 1e9;
+        lastSample = now;
+
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        long allocated = getAllocatedBytes();
+        long cpu = getCpuNanos();
+        Logger.recordOutput("Runtime/Allocation/MainBytesPerSecond", (allocated - lastAllocatedBytes) / seconds);
+        // Every thread: whatever the heap grew by, plus whatever collections freed in between.
+        Logger.recordOutput(
+            "Runtime/Allocation/TotalBytesPerSecond", (heap.getUsed() - lastHeapUsedBytes + freedBytes) / seconds);
+        Logger.recordOutput("Runtime/CPU/MainThreadUtilization", (cpu - lastCpuNanos) / 1e9 / seconds);
+        lastAllocatedBytes = allocated;
+        lastHeapUsedBytes = heap.getUsed();
+        freedBytes = 0;
+        lastCpuNanos = cpu;
+
+        if (os instanceof com.sun.management.OperatingSystemMXBean ext) {
+            Logger.recordOutput("Runtime/CPU/ProcessLoad", ext.getProcessCpuLoad());
+        }
+        Logger.recordOutput("Runtime/CPU/SystemLoadAverage", os.getSystemLoadAverage());
+        Logger.recordOutput("Runtime/Threads", threads.getThreadCount());
+
+        Logger.recordOutput("Runtime/Heap/UsedBytes", heap.getUsed());
+        Logger.recordOutput("Runtime/Heap/CommittedBytes", heap.getCommitted());
+        Logger.recordOutput("Runtime/Heap/MaxBytes", heap.getMax());
+        Logger.recordOutput("Runtime/NonHeap/UsedBytes", memory.getNonHeapMemoryUsage().getUsed());
+
+        Logger.recordOutput("Runtime/Classes/Loaded", classLoading.getLoadedClassCount());
+        Logger.recordOutput("Runtime/Classes/TotalLoaded", classLoading.getTotalLoadedClassCount());
+        Logger.recordOutput("Runtime/Classes/Unloaded", classLoading.getUnloadedClassCount());
+        if (compilation != null && compilation.isCompilationTimeMonitoringSupported()) {
+            Logger.recordOutput("Runtime/CompilationMs", compilation.getTotalCompilationTime());
+        }
+
+        Logger.recordOutput("Runtime/GC/Window/Count", gcWindowCount);
+        Logger.recordOutput("Runtime/GC/Window/MaxPauseMs", gcWindowMaxPauseMs);
+        Logger.recordOutput("Runtime/GC/DroppedEvents", droppedGcEvents);
+        gcWindowCount = 0;
+        gcWindowMaxPauseMs = 0;
+    }
+
+    // Helpers
+
+    /**
+     * @return The first loop which ended after the given time, the loop in progress if none did, or -1 if it is older
+     * than the history
+     */
+    private long findLoop(long nanos) {
+        long loop = lastLoop;
+        while (loop >= 0 && lastLoop - loop < HISTORY_CAPACITY) {
+            if (loopEnds[(int) (loop & HISTORY_MASK)] < nanos) { return loop + 1; }
+            loop--;
+        }
+        return loop < 0 ? 0 : -1;
+    }
+
+    private long getAllocatedBytes() {
+        return allocationSupported ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(mainThreadId) : 0;
+    }
+
+    private long getCpuNanos() {
+        return cpuTimeSupported ? threads.getCurrentThreadCpuTime() : 0;
+    }
+}
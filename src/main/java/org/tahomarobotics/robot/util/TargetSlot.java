@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A lock-free, single-writer single-reader slot holding the latest row of targets, for handing targets from the main thread to a
+ * control thread. Only the latest row is kept, rows the reader never saw are simply superseded.
+ * <p>
+ * Guarded by a sequence lock: the writer never waits, and the reader retries its copy if it raced a write. All storage
+ * is allocated up front so neither side allocates.
+ */
+public final class TargetSlot {
+    /** Copies attempted before the reader gives up and keeps its previous row. */
+    private static final int MAX_READ_ATTEMPTS = 8;
+
+    private final double[] values;
+    // Reader side copy, only handed out once known to be a complete row.
+    private final double[] scratch;
+
+    // Odd while a write is in progress.
+    private volatile int sequence = 0;
+
+    /**
+     * @param width   Number of targets in each row
+     * @param initial Initial value of every target
+     */
+    public TargetSlot(int width, double initial) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Width must be positive!");
+        }
+        values = new double[width];
+        scratch = new double[width];
+        Arrays.fill(values, initial);
+    }
+
+    // Writer
+
+    /**
+     * Starts writing a new row. Must be followed by {@link #publish()} once every target is set. Only one thread may
+     * write.
+     */
+    public void begin() {
+        sequence++;
+        VarHandle.storeStoreFence();
+    }
+
+    /**
+     * @param channel Index of the target within the row
+     * @param value   The target
+     */
+    public void set(int channel, double value) {
+        values[channel] = value;
+    }
+
+    /**
+     * Publishes the row started by {@link #begin()}.
+     */
+    public void publish() {
+        sequence++;
+    }
+
+    // Reader
+
+    /**
+     * Copies the latest row. Only one thread may read.
+     *
+     * @param out Array of at least {@link #getWidth()} values to copy into, only complete rows are ever left in it
+     *
+     * @return The sequence of the row read, which changes whenever a new row is published, or -1 if every attempt
+     * raced a write and the array holds the previous row
+     */
+    public int read(double[] out) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            int before = sequence;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            System.arraycopy(values, 0, scratch, 0, values.length);
+
+            // A write started while copying, try again.
+            VarHandle.acquireFence();
+            if (sequence != before) { continue; }
+
+            System.arraycopy(scratch, 0, out, 0, values.length);
+            return before;
+        }
+        return -1;
+    }
+
+    // Getters
+
+    public int getWidth() {
+        return values.length;
+    }
+}
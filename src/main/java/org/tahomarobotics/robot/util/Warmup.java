@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Commands;
+import org.littletonrobotics.junction.Logger;
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Exercises the enabled hot paths while the robot is disabled, so classes are loaded and the JIT has compiled them
+ * before the first enabled loop rather than during it. Each disabled loop runs the exercises for a bounded time and
+ * schedules a no-op command through the scheduler, until compilation settles: the JIT compiles next to nothing over a
+ * window and the time for a pass of the exercises has stopped falling.
+ * <p>
+ * The time of the first, cold, pass against the mean pass time of the final window is logged under {@code Warmup/}, as
+ * is how long it took and how much compilation it triggered. What it buys the enabled loops is measured separately, by
+ * capturing the first enabled loops with the {@link LoopMonitor}.
+ */
+public final class Warmup {
+    /** Time spent exercising per disabled loop, at least one pass always runs. */
+    private static final long LOOP_BUDGET_NANOS = 5_000_000;
+    private static final long WINDOW_NANOS = 1_000_000_000;
+    /** Compilation time per window below which the JIT counts as idle. */
+    private static final long SETTLED_COMPILATION_MS = 10;
+    /** Relative change in mean pass time between windows below which passes count as stable. */
+    private static final double SETTLED_PASS_CHANGE = 0.1;
+    /** Consecutive settled windows needed to finish. */
+    private static final int SETTLED_WINDOWS = 3;
+    /** Gives up after this long, a JIT still busy by then is busy with something else. */
+    private static final long TIMEOUT_NANOS = 60_000_000_000L;
+
+    /**
+     * Work mirroring an enabled hot path.
+     */
+    @FunctionalInterface
+    public interface Exercise {
+        /**
+         * @return Any value derived from the work, consumed so the JIT cannot discard it
+         */
+        double run();
+    }
+
+    private final Exercise[] exercises;
+    private final Command command = Commands.runOnce(() -> {}).ignoringDisable(true).withName("Warmup");
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+
+    @SuppressWarnings("unused")
+    private volatile double sink;
+
+    private boolean started = false;
+    private boolean complete = false;
+    private boolean settled = false;
+    private long startNanos;
+    private long startCompilationMs;
+    private long passes = 0;
+    private double firstPassMs = Double.NaN;
+
+    // -- Window --
+
+    private long windowStart;
+    private long windowCompilationMs;
+    private long windowPasses = 0;
+    private long windowPassNanos = 0;
+    private double previousMeanPassMs = Double.NaN;
+    private int settledWindows = 0;
+
+    /**
+     * @param exercises Work to repeat, each should run a hot path against simulated or no-op outputs
+     */
+    public Warmup(Exercise... exercises) {
+        this.exercises = exercises;
+    }
+
+    /**
+     * Runs one loop's worth of exercises. Call from disabled periodic; does nothing once complete.
+     */
+    public void update() {
+        if (complete) { return; }
+
+        long now = System.nanoTime();
+        if (!started) {
+            started = true;
+            startNanos = windowStart = now;
+            startCompilationMs = windowCompilationMs = getCompilationMs();
+        }
+
+        // Runs through the scheduler's initialize, execute and finish paths, and everything listening to them.
+        if (!command.isScheduled()) { CommandScheduler.getInstance().schedule(command); }
+
+        long loopStart = now;
+        do {
+            long passStart = System.nanoTime();
+            double result = 0;
+            for (Exercise exercise : exercises) {
+                result += exercise.run();
+            }
+            sink = result;
+            now = System.nanoTime();
+
+            if (passes++ == 0) { firstPassMs = (now - passStart) / 1e6; }
+            windowPasses++;
+            windowPassNanos += now - passStart;
+        } while (now - loopStart < LOOP_BUDGET_NANOS);
+
+        if (now - windowStart >= WINDOW_NANOS) { endWindow(now); }
+    }
+
+    private void endWindow(long now) {
+        long compilationMs = getCompilationMs();
+        double meanPassMs = windowPassNanos / 1e6 / windowPasses;
+
+        boolean compiling = compilationMs - windowCompilationMs > SETTLED_COMPILATION_MS;
+        boolean stable = Math.abs(meanPassMs - previousMeanPassMs) <= SETTLED_PASS_CHANGE * previousMeanPassMs;
+        settledWindows = !compiling && stable ? settledWindows + 1 : 0;
+
+        Logger.recordOutput("Warmup/MeanPassMs", meanPassMs);
+        Logger.recordOutput("Warmup/WindowCompilationMs", compilationMs - windowCompilationMs);
+
+        windowStart = now;
+        windowCompilationMs = compilationMs;
+        windowPasses = 0;
+        windowPassNanos = 0;
+        previousMeanPassMs = meanPassMs;
+
+        if (settledWindows >= SETTLED_WINDOWS) {
+            finish(true, now);
+        } else if (now - startNanos >= TIMEOUT_NANOS) {
+            finish(false, now);
+        }
+    }
+
+    /**
+     * Ends the warmup early, e.g. when the robot is enabled before compilation has settled. Does nothing if it never
+     * started or has already finished.
+     */
+    public void interrupt() {
+        if (started && !complete) { finish(false, System.nanoTime()); }
+    }
+
+    private void finish(boolean settled, long now) {
+        complete = true;
+        this.settled = settled;
+        double elapsed = (now - startNanos) / 1e9;
+        long compilationMs = getCompilationMs() - startCompilationMs;
+
+        Logger.recordOutput("Warmup/Settled", settled);
+        Logger.recordOutput("Warmup/ElapsedSeconds", elapsed);
+        Logger.recordOutput("Warmup/Passes", passes);
+        Logger.recordOutput("Warmup/CompilationMs", compilationMs);
+        Logger.recordOutput("Warmup/FirstPassMs", firstPassMs);
+        Logger.recordOutput("Warmup/SettledPassMs", previousMeanPassMs);
+        Logger.recordOutput("Warmup/PassDeltaMs", firstPassMs - previousMeanPassMs);
+
+        if (settled) {
+            Log.info(
+                "Warmup settled after {} s and {} passes: first pass {} ms, now {} ms", elapsed, passes, firstPassMs,
+                previousMeanPassMs
+            );
+        } else {
+            Log.warn("Warmup ended before settling after {} s and {} passes", elapsed, passes);
+        }
+    }
+
+    private long getCompilationMs() {
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported() ?
+               compilation.getTotalCompilationTime() : 0;
+    }
+
+    /**
+     * @return Whether the warmup has finished, settled or not
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return Whether the warmup finished because compilation settled, rather than being interrupted or timing out
+     */
+    public boolean isSettled() {
+        return settled;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.input;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
+import org.tahomarobotics.robot.util.DriverStationPacketTimer;
+
+/**
+ * Every axis, button and POV of one controller, read once per loop by {@link #update()} so everything reading the
+ * controller within a loop sees the same values. Triggers created here read the snapshot rather than the driver
+ * station.
+ */
+public final class ControllerSnapshot {
+    private final int port;
+
+    private final double[] axes = new double[DriverStation.kMaxJoystickAxes];
+    private int axisCount = 0;
+    private int buttons = 0;
+    private int pov = -1;
+    private boolean connected = false;
+
+    private double timestamp = Double.NaN;
+    private double changeTimestamp = Double.NaN;
+    private double packetTimestamp = Double.NaN;
+
+    /**
+     * @param port Driver station port of the controller
+     */
+    public ControllerSnapshot(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Reads the controller. Call once per loop before the command scheduler runs.
+     */
+    public void update() {
+        timestamp = Timer.getFPGATimestamp();
+        packetTimestamp = DriverStationPacketTimer.getInstance().getLastPacketTimestamp();
+        boolean changed = false;
+
+        connected = DriverStation.isJoystickConnected(port);
+        axisCount = Math.min(DriverStation.getStickAxisCount(port), axes.length);
+        for (int i = 0; i < axisCount; i++) {
+            double axis = DriverStation.getStickAxis(port, i);
+            changed |= axis != axes[i];
+            axes[i] = axis;
+        }
+
+        int buttons = DriverStation.getStickButtons(port);
+        int pov = DriverStation.getStickPOVCount(port) > 0 ? DriverStation.getStickPOV(port, 0) : -1;
+        changed |= buttons != this.buttons || pov != this.pov;
+        this.buttons = buttons;
+        this.pov = pov;
+
+        if (changed) { changeTimestamp = timestamp; }
+    }
+
+    // -- Triggers --
+
+    /**
+     * @param button One-based button index, e.g. {@code XboxController.Button.kA.value}
+     */
+    public Trigger button(int button) {
+        return new Trigger(() -> getButton(button));
+    }
+
+    /**
+     * @param axis      Axis index, e.g. {@code XboxController.Axis.kRightTrigger.value}
+     * @param threshold Value the axis must exceed
+     */
+    public Trigger axisGreaterThan(int axis, double threshold) {
+        return new Trigger(() -> getAxis(axis) > threshold);
+    }
+
+    /**
+     * @param angle POV angle in degrees, e.g. 0 for up
+     */
+    public Trigger pov(int angle) {
+        return new Trigger(() -> pov == angle);
+    }
+
+    // -- Getters --
+
+    /**
+     * @return The axis value, or zero if the controller does not have the axis
+     */
+    public double getAxis(int axis) {
+        return axis < axisCount ? axes[axis] : 0;
+    }
+
+    /**
+     * @param button One-based button index
+     */
+    public boolean getButton(int button) {
+        return (buttons & (1 << (button - 1))) != 0;
+    }
+
+    /**
+     * @return POV angle in degrees, or -1 if not pressed
+     */
+    public int getPOV() {
+        return pov;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * @return FPGA timestamp of the last {@link #update()} in seconds
+     */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return FPGA timestamp in seconds of the latest Driver Station packet when the snapshot was taken, or NaN if none
+     */
+    public double getPacketTimestamp() {
+        return packetTimestamp;
+    }
+
+    /**
+     * @return FPGA timestamp of the first update in which any input last changed in seconds
+     */
+    public double getChangeTimestamp() {
+        return changeTimestamp;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.input;
+
+/**
+ * Joystick response curve evaluated from a precomputed table by linear interpolation. The curve is odd, so only the
+ * positive half is tabulated; input past full scale is clamped.
+ */
+public final class ResponseCurve {
+    /** Number of table intervals over [0, 1]. */
+    private static final int RESOLUTION = 256;
+
+    public enum Shape {
+        /** {@code x} */
+        LINEAR,
+        /** {@code x^parameter} */
+        POWER,
+        /** {@code parameter * x^3 + (1 - parameter) * x} */
+        EXPO
+    }
+
+    private final Shape shape;
+    private final double deadband;
+    private final double parameter;
+    private final double scale;
+
+    private final double[] table = new double[RESOLUTION + 1];
+
+    /**
+     * @param shape     Shape of the curve outside the deadband
+     * @param deadband  Input magnitude below which the output is zero, the rest of the input range is rescaled to [0, 1]
+     * @param parameter Exponent for {@link Shape#POWER} or cubic weight for {@link Shape#EXPO}, ignored otherwise
+     * @param scale     Output at full scale
+     */
+    public ResponseCurve(Shape shape, double deadband, double parameter, double scale) {
+        if (deadband < 0 || deadband >= 1) {
+            throw new IllegalArgumentException("Deadband must be in [0, 1), got " + deadband);
+        }
+        this.shape = shape;
+        this.deadband = deadband;
+        this.parameter = parameter;
+        this.scale = scale;
+
+        for (int i = 0; i <= RESOLUTION; i++) {
+            double x = (double) i / RESOLUTION;
+            x = x <= deadband ? 0 : (x - deadband) / (1 - deadband);
+            table[i] = scale * switch (shape) {
+                case LINEAR -> x;
+                case POWER -> Math.pow(x, parameter);
+                case EXPO -> parameter * x * x * x + (1 - parameter) * x;
+            };
+        }
+    }
+
+    /**
+     * @param value Raw axis value in [-1, 1]
+     *
+     * @return The shaped value
+     */
+    public double evaluate(double value) {
+        double position = Math.min(Math.abs(value), 1) * RESOLUTION;
+        int index = (int) position;
+        if (index >= RESOLUTION) { return Math.copySign(table[RESOLUTION], value); }
+
+        double low = table[index];
+        return Math.copySign(low + (table[index + 1] - low) * (position - index), value);
+    }
+
+    // -- Getters --
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public double getDeadband() {
+        return deadband;
+    }
+
+    public double getParameter() {
+        return parameter;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+}
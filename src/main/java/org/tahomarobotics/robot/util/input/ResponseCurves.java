@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.input;
+
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * A set of named response curves for the selected driver, loaded from a properties file and reloaded whenever the file
+ * changes. The file selects a driver with {@code driver=<name>} and gives each curve as
+ * {@code <driver>.<curve>.shape|deadband|parameter|scale}; anything missing keeps its default.
+ * <p>
+ * The file is checked and parsed on a background thread, and a fully built set of curves is published with a single
+ * volatile write, so the loop never touches the filesystem and never sees a mix of old and new curves.
+ */
+public final class ResponseCurves {
+    private static final long POLL_PERIOD_MS = 1000;
+
+    private final File file;
+    private final String[] names;
+    private final ResponseCurve[] defaults;
+
+    private volatile Loaded loaded;
+    // Only touched by the reload thread after construction.
+    private long lastModified = Long.MIN_VALUE;
+
+    /**
+     * @param file     Properties file, usually in the deploy directory
+     * @param names    Name of each curve in the file
+     * @param defaults Curve used when the file does not give one, in the same order as the names
+     */
+    public ResponseCurves(File file, String[] names, ResponseCurve[] defaults) {
+        if (names.length != defaults.length) {
+            throw new IllegalArgumentException("Every curve needs a default!");
+        }
+        this.file = file;
+        this.names = names.clone();
+        this.defaults = defaults.clone();
+        loaded = new Loaded("default", defaults.clone());
+        reload();
+
+        Thread thread = new Thread(this::run, "Response Curves");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @param index Index of the curve in the names given at construction
+     */
+    public ResponseCurve get(int index) {
+        return loaded.curves[index];
+    }
+
+    public String getDriver() {
+        return loaded.driver;
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(POLL_PERIOD_MS);
+                if (file.lastModified() != lastModified) { reload(); }
+            }
+        } catch (InterruptedException ignored) {}
+    }
+
+    private void reload() {
+        lastModified = file.lastModified();
+        if (!file.isFile()) { return; }
+
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            Log.error("Failed to read response curves '{}', keeping current curves: {}", file, e.getMessage());
+            return;
+        }
+
+        String driver = properties.getProperty("driver", "default").trim();
+        ResponseCurve[] curves = new ResponseCurve[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String prefix = driver + "." + names[i] + ".";
+            ResponseCurve fallback = defaults[i];
+            try {
+                curves[i] = new ResponseCurve(
+                    ResponseCurve.Shape.valueOf(
+                        properties.getProperty(prefix + "shape", fallback.getShape().name()).trim().toUpperCase(Locale.ROOT)),
+                    parse(properties, prefix + "deadband", fallback.getDeadband()),
+                    parse(properties, prefix + "parameter", fallback.getParameter()),
+                    parse(properties, prefix + "scale", fallback.getScale())
+                );
+            } catch (IllegalArgumentException e) {
+                Log.error("Invalid response curve '{}' in '{}', keeping current curves: {}", prefix, file.getName(), e.getMessage());
+                return;
+            }
+        }
+
+        // Only published once everything has parsed, so a half-written file never leaves a mix of curves.
+        loaded = new Loaded(driver, curves);
+        Log.info("Loaded response curves for driver '{}' from '{}'", driver, file.getName());
+    }
+
+    private static double parse(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        return value == null ? fallback : Double.parseDouble(value.trim());
+    }
+
+    private record Loaded(String driver, ResponseCurve[] curves) {}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.logging;
+
+import org.littletonrobotics.junction.LogDataReceiver;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Decouples a slow data receiver, such as a {@link org.littletonrobotics.junction.wpilog.WPILOGWriter} on a USB stick,
+ * from AdvantageKit's receiver thread. Each cycle's table is handed to a bounded queue and written by a dedicated
+ * thread, so a stalled write delays only the log file rather than backing up AdvantageKit's receiver queue, and with it
+ * every other receiver and eventually the main loop.
+ * <p>
+ * Tables are owned copies by the time a receiver sees them, so only the reference is queued. Queue depth, write
+ * latency and dropped cycles are logged from the main thread by {@link #log()}.
+ */
+public final class AsyncLogWriter implements LogDataReceiver {
+    private static final long STATS_PERIOD_NANOS = 1_000_000_000;
+    private static final long JOIN_TIMEOUT_MS = 1000;
+
+    /**
+     * What to do with a cycle when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Drop the incoming cycle, keeping the log contiguous up to the stall. */
+        DROP_NEWEST,
+        /** Drop the oldest queued cycle, keeping the log contiguous after the stall. */
+        DROP_OLDEST
+    }
+
+    private final LogDataReceiver receiver;
+    private final OverflowPolicy policy;
+    private final ArrayBlockingQueue<LogTable> queue;
+    private final Thread thread;
+
+    private final String depthKey;
+    private final String maxDepthKey;
+    private final String latencyKey;
+    private final String maxLatencyKey;
+    private final String droppedKey;
+    private final String failuresKey;
+
+    // Receiver thread only.
+    private int maxDepth = 0;
+
+    // Writer thread only.
+    private long statsStart = System.nanoTime();
+    private long writes = 0;
+    private long writeNanos = 0;
+    private long maxWriteNanos = 0;
+
+    private volatile int publishedMaxDepth = 0;
+    private volatile double meanLatencyMs = 0;
+    private volatile double maxLatencyMs = 0;
+    private volatile long dropped = 0;
+    private volatile long failures = 0;
+
+    /**
+     * @param name     Name of the writer, used for the thread and log keys
+     * @param receiver Receiver to write through, only ever called from the writer thread
+     * @param capacity Number of cycles which can be queued
+     * @param policy   What to do with a cycle when the queue is full
+     */
+    public AsyncLogWriter(String name, LogDataReceiver receiver, int capacity, OverflowPolicy policy) {
+        this.receiver = receiver;
+        this.policy = policy;
+        queue = new ArrayBlockingQueue<>(capacity);
+
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+
+        depthKey = "Logging/" + name + "/QueueDepth";
+        maxDepthKey = "Logging/" + name + "/MaxQueueDepth";
+        latencyKey = "Logging/" + name + "/WriteLatencyMs";
+        maxLatencyKey = "Logging/" + name + "/MaxWriteLatencyMs";
+        droppedKey = "Logging/" + name + "/DroppedCycles";
+        failuresKey = "Logging/" + name + "/Failures";
+    }
+
+    // -- Receiver Thread --
+
+    @Override
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void putTable(LogTable table) {
+        if (!queue.offer(table)) {
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                // The writer may have taken one in the meantime, either way one cycle is lost.
+                queue.poll();
+                queue.offer(table);
+            }
+            dropped++;
+        }
+
+        int depth = queue.size();
+        if (depth > maxDepth) {
+            maxDepth = depth;
+            publishedMaxDepth = depth;
+        }
+    }
+
+    @Override
+    public void end() {
+        thread.interrupt();
+        try {
+            thread.join(JOIN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -- Writer Thread --
+
+    private void run() {
+        receiver.start();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(queue.take());
+            }
+        } catch (InterruptedException ignored) {
+            // Flush whatever made it into the queue before shutting down.
+            LogTable table;
+            while ((table = queue.poll()) != null) { write(table); }
+        } finally {
+            receiver.end();
+        }
+    }
+
+    private void write(LogTable table) {
+        long start = System.nanoTime();
+        try {
+            receiver.putTable(table);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            if (failures++ == 0) {
+                Log.error(e, "Log writer '{}' failed to write a cycle", thread.getName());
+            }
+        }
+        long end = System.nanoTime();
+
+        long nanos = end - start;
+        writes++;
+        writeNanos += nanos;
+        if (nanos > maxWriteNanos) { maxWriteNanos = nanos; }
+
+        if (end - statsStart >= STATS_PERIOD_NANOS) {
+            meanLatencyMs = writeNanos / 1e6 / writes;
+            maxLatencyMs = maxWriteNanos / 1e6;
+            writes = 0;
+            writeNanos = 0;
+            maxWriteNanos = 0;
+            statsStart = end;
+        }
+    }
+
+    // -- Main Thread --
+
+    /**
+     * Logs queue statistics. Call once per loop from the main thread.
+     */
+    public void log() {
+        Logger.recordOutput(depthKey, queue.size());
+        Logger.recordOutput(maxDepthKey, publishedMaxDepth);
+        Logger.recordOutput(latencyKey, meanLatencyMs);
+        Logger.recordOutput(maxLatencyKey, maxLatencyMs);
+        Logger.recordOutput(droppedKey, dropped);
+        Logger.recordOutput(failuresKey, failures);
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.logging;
+
+import org.tinylog.Level;
+import org.tinylog.provider.LoggingProvider;
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Logging facade over tinylog which checks the level before doing any work on the arguments. Primitive overloads avoid
+ * boxing and the fixed-arity overloads avoid a varargs array, so a call below the configured level costs a single
+ * comparison and allocates nothing. Messages use tinylog's {@code {}} placeholders.
+ * <p>
+ * Messages logged from the same place repeatedly can be parsed once up front as a {@link Template}.
+ */
+public final class Log {
+    private static final LoggingProvider PROVIDER = ProviderRegistry.getLoggingProvider();
+    /** The configuration is fixed once tinylog starts, so the minimum level only needs to be read once. */
+    private static final int MINIMUM_LEVEL = PROVIDER.getMinimumLevel(null).ordinal();
+
+    private static final String PLACEHOLDER = "{}";
+
+    private Log() {}
+
+    /**
+     * @return Whether messages at the level are written anywhere
+     */
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= MINIMUM_LEVEL;
+    }
+
+    // -- Debug --
+
+    public static void debug(String message) {
+        if (isEnabled(Level.DEBUG)) { write(Log.class, Level.DEBUG, null, message); }
+    }
+
+    public static void debug(String message, Object a) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a); }
+    }
+
+    public static void debug(String message, long a) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a); }
+    }
+
+    public static void debug(String message, double a) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a); }
+    }
+
+    public static void debug(String message, Object a, Object b) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a, b); }
+    }
+
+    public static void debug(String message, Object a, long b) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a, b); }
+    }
+
+    public static void debug(String message, Object a, double b) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a, b); }
+    }
+
+    public static void debug(String message, long a, long b) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a, b); }
+    }
+
+    public static void debug(String message, Object a, Object b, Object c) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, a, b, c); }
+    }
+
+    /** Allocates the argument array even when filtered, prefer a fixed-arity overload on hot paths. */
+    public static void debug(String message, Object... arguments) {
+        if (isEnabled(Level.DEBUG)) { write(Level.DEBUG, null, message, arguments); }
+    }
+
+    // -- Info --
+
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) { write(Log.class, Level.INFO, null, message); }
+    }
+
+    public static void info(String message, Object a) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a); }
+    }
+
+    public static void info(String message, long a) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a); }
+    }
+
+    public static void info(String message, double a) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a); }
+    }
+
+    public static void info(String message, Object a, Object b) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a, b); }
+    }
+
+    public static void info(String message, Object a, long b) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a, b); }
+    }
+
+    public static void info(String message, Object a, double b) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a, b); }
+    }
+
+    public static void info(String message, long a, long b) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a, b); }
+    }
+
+    public static void info(String message, Object a, Object b, Object c) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, a, b, c); }
+    }
+
+    /** Allocates the argument array even when filtered, prefer a fixed-arity overload on hot paths. */
+    public static void info(String message, Object... arguments) {
+        if (isEnabled(Level.INFO)) { write(Level.INFO, null, message, arguments); }
+    }
+
+    // -- Warn --
+
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) { write(Log.class, Level.WARN, null, message); }
+    }
+
+    public static void warn(String message, Object a) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a); }
+    }
+
+    public static void warn(String message, long a) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a); }
+    }
+
+    public static void warn(String message, double a) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a); }
+    }
+
+    public static void warn(String message, Object a, Object b) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a, b); }
+    }
+
+    public static void warn(String message, Object a, long b) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a, b); }
+    }
+
+    public static void warn(String message, Object a, double b) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a, b); }
+    }
+
+    public static void warn(String message, long a, long b) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a, b); }
+    }
+
+    public static void warn(String message, Object a, Object b, Object c) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, a, b, c); }
+    }
+
+    /** Allocates the argument array even when filtered, prefer a fixed-arity overload on hot paths. */
+    public static void warn(String message, Object... arguments) {
+        if (isEnabled(Level.WARN)) { write(Level.WARN, null, message, arguments); }
+    }
+
+    // -- Error --
+
+    public static void error(String message) {
+        if (isEnabled(Level.ERROR)) { write(Log.class, Level.ERROR, null, message); }
+    }
+
+    public static void error(String message, Object a) {
+        if (isEnabled(Level.ERROR)) { write(Level.ERROR, null, message, a); }
+    }
+
+    public static void error(String message, Object a, Object b) {
+        if (isEnabled(Level.ERROR)) { write(Level.ERROR, null, message, a, b); }
+    }
+
+    public static void error(String message, Object a, Object b, Object c) {
+        if (isEnabled(Level.ERROR)) { write(Level.ERROR, null, message, a, b, c); }
+    }
+
+    /** Allocates the argument array even when filtered, prefer a fixed-arity overload on hot paths. */
+    public static void error(String message, Object... arguments) {
+        if (isEnabled(Level.ERROR)) { write(Level.ERROR, null, message, arguments); }
+    }
+
+    public static void error(Throwable exception, String message) {
+        if (isEnabled(Level.ERROR)) { write(Log.class, Level.ERROR, exception, message); }
+    }
+
+    public static void error(Throwable exception, String message, Object a) {
+        if (isEnabled(Level.ERROR)) { write(Level.ERROR, exception, message, a); }
+    }
+
+    public static void error(Throwable exception, String message, Object a, Object b) {
+        if (isEnabled(Level.ERROR)) { write(Level.ERROR, exception, message, a, b); }
+    }
+
+    // -- Templates --
+
+    /**
+     * Parses a message once for repeated logging at a fixed level.
+     *
+     * @param level   Level to log at
+     * @param message Message with {@code {}} placeholders
+     *
+     * @return The template
+     */
+    public static Template template(Level level, String message) {
+        return new Template(level, message);
+    }
+
+    /**
+     * A message split at its placeholders ahead of time. Pass as many arguments as there are placeholders.
+     */
+    public static final class Template {
+        private final Level level;
+        private final String message;
+        private final String[] parts;
+
+        private Template(Level level, String message) {
+            this.level = level;
+            this.message = message;
+            parts = message.split("\\{}", -1);
+        }
+
+        public boolean isEnabled() {
+            return Log.isEnabled(level);
+        }
+
+        public void log() {
+            if (isEnabled()) { write(Template.class, level, null, message); }
+        }
+
+        public void log(Object a) {
+            if (isEnabled()) { write(Template.class, level, null, start().append(a).append(part(1)).toString()); }
+        }
+
+        public void log(long a) {
+            if (isEnabled()) { write(Template.class, level, null, start().append(a).append(part(1)).toString()); }
+        }
+
+        public void log(double a) {
+            if (isEnabled()) { write(Template.class, level, null, start().append(a).append(part(1)).toString()); }
+        }
+
+        public void log(Object a, Object b) {
+            if (isEnabled()) {
+                write(Template.class, level, null, start().append(a).append(part(1)).append(b).append(part(2)).toString());
+            }
+        }
+
+        public void log(Object a, long b) {
+            if (isEnabled()) {
+                write(Template.class, level, null, start().append(a).append(part(1)).append(b).append(part(2)).toString());
+            }
+        }
+
+        public void log(Object a, double b) {
+            if (isEnabled()) {
+                write(Template.class, level, null, start().append(a).append(part(1)).append(b).append(part(2)).toString());
+            }
+        }
+
+        public void log(long a, long b) {
+            if (isEnabled()) {
+                write(Template.class, level, null, start().append(a).append(part(1)).append(b).append(part(2)).toString());
+            }
+        }
+
+        public void log(Object a, Object b, Object c) {
+            if (isEnabled()) {
+                write(Template.class, level, null, start().append(a).append(part(1)).append(b).append(part(2))
+                                                          .append(c).append(part(3)).toString());
+            }
+        }
+
+        private StringBuilder start() {
+            return new StringBuilder(message.length() + 32).append(parts[0]);
+        }
+
+        private String part(int index) {
+            return index < parts.length ? parts[index] : "";
+        }
+    }
+
+    // -- Writing --
+
+    private static void write(Level level, Throwable exception, String message, Object... arguments) {
+        StringBuilder builder = new StringBuilder(message.length() + 16 * arguments.length);
+        int from = 0;
+        for (Object argument : arguments) {
+            int at = message.indexOf(PLACEHOLDER, from);
+            if (at < 0) { break; }
+            builder.append(message, from, at).append(argument);
+            from = at + PLACEHOLDER.length();
+        }
+        write(Log.class, level, exception, builder.append(message, from, message.length()).toString());
+    }
+
+    /**
+     * @param caller Class whose caller the message is attributed to
+     */
+    private static void write(Class<?> caller, Level level, Throwable exception, String message) {
+        PROVIDER.log(caller.getName(), null, level, exception, null, message);
+    }
+}
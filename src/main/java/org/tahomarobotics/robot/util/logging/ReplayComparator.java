@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.logging;
+
+import org.littletonrobotics.junction.LogDataReceiver;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.LogTable.LogValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diffs the outputs of a replay against the outputs recorded in the original log. Every cycle each replayed output is
+ * compared to the recorded output of the same name, and a summary of the keys which differed is printed once the replay
+ * ends.
+ * <p>
+ * Outputs which depend on wall-clock time rather than the log, such as execution times, never match and should be
+ * ignored.
+ */
+public final class ReplayComparator implements LogDataReceiver {
+    private static final String REAL_PREFIX = "/RealOutputs/";
+    private static final String REPLAY_PREFIX = "/ReplayOutputs/";
+    private static final int SUMMARY_LIMIT = 20;
+
+    private final double tolerance;
+    private final String[] ignored;
+
+    private final Map<String, Difference> differences = new HashMap<>();
+    private final Map<String, String> realKeys = new HashMap<>();
+    private long cycles = 0;
+    private long compared = 0;
+
+    /**
+     * @param tolerance Absolute difference below which floating point outputs match
+     * @param ignored   Output key prefixes to skip, relative to the outputs table (e.g. {@code Subsystem/})
+     */
+    public ReplayComparator(double tolerance, String... ignored) {
+        this.tolerance = tolerance;
+        this.ignored = ignored;
+    }
+
+    @Override
+    public void putTable(LogTable table) {
+        cycles++;
+        Map<String, LogValue> values = table.getAll(false);
+        for (Map.Entry<String, LogValue> field : values.entrySet()) {
+            String key = field.getKey();
+            if (!key.startsWith(REPLAY_PREFIX)) { continue; }
+
+            String realKey = realKeys.computeIfAbsent(key, k -> isIgnored(k) ? "" : REAL_PREFIX + k.substring(REPLAY_PREFIX.length()));
+            if (realKey.isEmpty()) { continue; }
+
+            compared++;
+            LogValue real = values.get(realKey);
+            if (real == null || !matches(real, field.getValue())) {
+                differences.computeIfAbsent(realKey.substring(REAL_PREFIX.length()), k -> new Difference(table.getTimestamp()))
+                           .count++;
+            }
+        }
+    }
+
+    private boolean isIgnored(String key) {
+        for (String prefix : ignored) {
+            if (key.startsWith(prefix, REPLAY_PREFIX.length())) { return true; }
+        }
+        return false;
+    }
+
+    private boolean matches(LogValue real, LogValue replay) {
+        if (real.type != replay.type) { return false; }
+        switch (real.type) {
+            case Double -> {
+                return close(real.getDouble(), replay.getDouble());
+            }
+            case Float -> {
+                return close(real.getFloat(), replay.getFloat());
+            }
+            case DoubleArray -> {
+                double[] a = real.getDoubleArray(), b = replay.getDoubleArray();
+                if (a.length != b.length) { return false; }
+                for (int i = 0; i < a.length; i++) {
+                    if (!close(a[i], b[i])) { return false; }
+                }
+                return true;
+            }
+            default -> {
+                return real.equals(replay);
+            }
+        }
+    }
+
+    private boolean close(double a, double b) {
+        // NaN only matches NaN.
+        return Math.abs(a - b) <= tolerance || Double.compare(a, b) == 0;
+    }
+
+    @Override
+    public void end() {
+        if (differences.isEmpty()) {
+            Log.info("Replay matched the original log over {} cycles and {} comparisons", cycles, compared);
+            return;
+        }
+
+        List<Map.Entry<String, Difference>> sorted = new ArrayList<>(differences.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue().count, a.getValue().count));
+
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < Math.min(SUMMARY_LIMIT, sorted.size()); i++) {
+            Map.Entry<String, Difference> entry = sorted.get(i);
+            summary.append(String.format(
+                "%n  %-60s %8d cycles, first at %.3f s", entry.getKey(), entry.getValue().count,
+                entry.getValue().firstTimestamp / 1e6
+            ));
+        }
+        Log.warn(
+            "Replay differed from the original log in {} outputs over {} cycles:{}", differences.size(), cycles, summary);
+    }
+
+    private static final class Difference {
+        private final long firstTimestamp;
+        private long count = 0;
+
+        private Difference(long firstTimestamp) {
+            this.firstTimestamp = firstTimestamp;
+        }
+    }
+}
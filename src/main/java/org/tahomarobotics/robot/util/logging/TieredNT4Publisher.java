@@ -0,0 +1,267 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.logging;
+
+import edu.wpi.first.networktables.BooleanEntry;
+import edu.wpi.first.networktables.GenericPublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PubSubOption;
+import org.littletonrobotics.junction.LogDataReceiver;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.LogTable.LogValue;
+import org.littletonrobotics.junction.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Publishes AdvantageKit data to NetworkTables in the same layout as
+ * {@link org.littletonrobotics.junction.networktables.NT4Publisher}, but with each key assigned to a tier by its longest
+ * matching prefix. A tier either publishes at a fixed rate or not at all, leaving the key on disk only; full mirroring
+ * of every key every cycle can be switched on from the dashboard. Nothing is published while no client is connected,
+ * and everything is republished on the next connection.
+ * <p>
+ * Runs on AdvantageKit's receiver thread, estimated payload bytes per second of each tier are logged from the main
+ * thread by {@link #log()}.
+ */
+public final class TieredNT4Publisher implements LogDataReceiver {
+    private static final String TIMESTAMP_KEY = "Timestamp";
+    private static final String MIRROR_KEY = "/Logging/MirrorAll";
+    private static final String LOG_PREFIX = "Logging/NT/";
+    private static final long STATS_PERIOD_MICROS = 1_000_000;
+
+    private final NetworkTableInstance instance = NetworkTableInstance.getDefault();
+    private final NetworkTable akitTable = instance.getTable("/AdvantageKit");
+    private final IntegerPublisher timestampPublisher =
+        akitTable.getIntegerTopic(TIMESTAMP_KEY).publish(PubSubOption.sendAll(true));
+    private final BooleanEntry mirrorEntry = instance.getBooleanTopic(MIRROR_KEY).getEntry(false);
+
+    private final List<Tier> tiers = new ArrayList<>();
+    private final Map<String, Tier> prefixes = new HashMap<>();
+    private final Tier defaultTier;
+    private final Tier mirrorTier;
+
+    // Receiver thread only.
+    private final Map<String, Tier> keyTiers = new HashMap<>();
+    private final Function<String, Tier> matcher = this::match;
+    private final Map<String, GenericPublisher> publishers = new HashMap<>();
+    private final Map<String, LogValue> published = new HashMap<>();
+    private boolean wasConnected = false;
+    private long statsStart = Long.MIN_VALUE;
+
+    private volatile boolean connected = false;
+    private volatile boolean mirroring = false;
+
+    /**
+     * @param defaultHz Publish rate in hertz of keys without a matching tier, zero keeps them on disk only
+     */
+    public TieredNT4Publisher(double defaultHz) {
+        defaultTier = addTier("Default", defaultHz);
+        mirrorTier = addTier("Mirror", Double.POSITIVE_INFINITY);
+        mirrorEntry.setDefault(false);
+    }
+
+    /**
+     * Adds a tier. Prefixes are whole path segments of full AdvantageKit keys, such as {@code /RealOutputs/Shooter} or
+     * {@code /SystemStats}.
+     *
+     * @param name     Tier name used in the logged statistics
+     * @param hz       Publish rate in hertz, zero keeps the keys on disk only
+     * @param prefixes Key prefixes in the tier
+     *
+     * @return This publisher
+     */
+    public TieredNT4Publisher tier(String name, double hz, String... prefixes) {
+        Tier tier = addTier(name, hz);
+        for (String prefix : prefixes) {
+            this.prefixes.put(prefix, tier);
+        }
+        return this;
+    }
+
+    private Tier addTier(String name, double hz) {
+        Tier tier = new Tier(name, hz);
+        tiers.add(tier);
+        return tier;
+    }
+
+    // -- Receiver Thread --
+
+    @Override
+    public void putTable(LogTable table) {
+        long timestamp = table.getTimestamp();
+        updateStats(timestamp);
+
+        connected = instance.isConnected();
+        if (!connected) {
+            wasConnected = false;
+            return;
+        }
+        if (!wasConnected) {
+            // Values skipped while disconnected are stale on the server, resend everything.
+            published.clear();
+            wasConnected = true;
+        }
+
+        mirroring = mirrorEntry.get();
+        for (Tier tier : tiers) {
+            tier.update(timestamp);
+        }
+
+        timestampPublisher.set(timestamp, timestamp);
+
+        for (Map.Entry<String, LogValue> field : table.getAll(false).entrySet()) {
+            String key = field.getKey();
+            Tier tier = mirroring ? mirrorTier : keyTiers.computeIfAbsent(key, matcher);
+            if (!tier.due) { continue; }
+
+            LogValue value = field.getValue();
+            if (value.equals(published.get(key))) { continue; }
+            published.put(key, value);
+
+            GenericPublisher publisher = publishers.get(key);
+            if (publisher == null) {
+                publisher = akitTable.getTopic(key.substring(1)).genericPublish(value.getNT4Type(), PubSubOption.sendAll(true));
+                publishers.put(key, publisher);
+            }
+            tier.bytes += publish(publisher, value, timestamp);
+        }
+    }
+
+    private Tier match(String key) {
+        for (int end = key.length(); end > 0; end = key.lastIndexOf('/', end - 1)) {
+            Tier tier = prefixes.get(key.substring(0, end));
+            if (tier != null) { return tier; }
+        }
+        return defaultTier;
+    }
+
+    /**
+     * @return Estimated payload size in bytes
+     */
+    private static int publish(GenericPublisher publisher, LogValue value, long timestamp) {
+        switch (value.type) {
+            case Raw -> {
+                publisher.setRaw(value.getRaw(), timestamp);
+                return value.getRaw().length;
+            }
+            case Boolean -> {
+                publisher.setBoolean(value.getBoolean(), timestamp);
+                return 1;
+            }
+            case Integer -> {
+                publisher.setInteger(value.getInteger(), timestamp);
+                return Long.BYTES;
+            }
+            case Float -> {
+                publisher.setFloat(value.getFloat(), timestamp);
+                return Float.BYTES;
+            }
+            case Double -> {
+                publisher.setDouble(value.getDouble(), timestamp);
+                return Double.BYTES;
+            }
+            case String -> {
+                publisher.setString(value.getString(), timestamp);
+                return value.getString().length();
+            }
+            case BooleanArray -> {
+                publisher.setBooleanArray(value.getBooleanArray(), timestamp);
+                return value.getBooleanArray().length;
+            }
+            case IntegerArray -> {
+                publisher.setIntegerArray(value.getIntegerArray(), timestamp);
+                return value.getIntegerArray().length * Long.BYTES;
+            }
+            case FloatArray -> {
+                publisher.setFloatArray(value.getFloatArray(), timestamp);
+                return value.getFloatArray().length * Float.BYTES;
+            }
+            case DoubleArray -> {
+                publisher.setDoubleArray(value.getDoubleArray(), timestamp);
+                return value.getDoubleArray().length * Double.BYTES;
+            }
+            case StringArray -> {
+                int bytes = 0;
+                for (String string : value.getStringArray()) { bytes += string.length(); }
+                publisher.setStringArray(value.getStringArray(), timestamp);
+                return bytes;
+            }
+        }
+        return 0;
+    }
+
+    private void updateStats(long timestamp) {
+        if (statsStart == Long.MIN_VALUE) { statsStart = timestamp; }
+        long elapsed = timestamp - statsStart;
+        if (elapsed < STATS_PERIOD_MICROS) { return; }
+
+        for (Tier tier : tiers) {
+            tier.bytesPerSecond = tier.bytes * 1e6 / elapsed;
+            tier.bytes = 0;
+        }
+        statsStart = timestamp;
+    }
+
+    // -- Main Thread --
+
+    /**
+     * Logs publishing statistics. Call once per loop from the main thread.
+     */
+    public void log() {
+        Logger.recordOutput(LOG_PREFIX + "Connected", connected);
+        Logger.recordOutput(LOG_PREFIX + "MirrorAll", mirroring);
+        for (Tier tier : tiers) {
+            Logger.recordOutput(tier.key, tier.bytesPerSecond);
+        }
+    }
+
+    private static final class Tier {
+        private final String key;
+        private final long periodMicros;
+
+        private long nextPublish = 0;
+        private boolean due = false;
+        private long bytes = 0;
+        private volatile double bytesPerSecond = 0;
+
+        private Tier(String name, double hz) {
+            key = LOG_PREFIX + name + "/BytesPerSecond";
+            periodMicros = hz <= 0 ? Long.MAX_VALUE : Double.isInfinite(hz) ? 0 : (long) (1e6 / hz);
+        }
+
+        private void update(long timestamp) {
+            due = periodMicros != Long.MAX_VALUE && timestamp >= nextPublish;
+            if (due) {
+                nextPublish += periodMicros;
+                // Skip ahead rather than bursting if the receiver fell behind.
+                if (nextPublish <= timestamp) { nextPublish = timestamp + periodMicros; }
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.signals;
+
+/**
+ * A lock-free, single-producer single-consumer ring buffer of timestamped samples. Each sample is a fixed-width row of
+ * doubles, all storage is allocated up front so neither side allocates once running.
+ * <p>
+ * The producer never overwrites unread samples; when the consumer falls behind, new samples are dropped and counted.
+ */
+public final class SampleBuffer {
+    private final int capacity;
+    private final int mask;
+    private final int width;
+
+    private final double[] timestamps;
+    private final double[] values;
+
+    // Written only by the producer / consumer respectively, read by the other side.
+    private volatile long writeIndex = 0;
+    private volatile long readIndex = 0;
+
+    private volatile long dropped = 0;
+
+    /**
+     * @param capacity Minimum number of samples held, rounded up to a power of two
+     * @param width    Number of values in each sample
+     */
+    public SampleBuffer(int capacity, int width) {
+        if (capacity < 1 || width < 1) {
+            throw new IllegalArgumentException("Capacity and width must be positive!");
+        }
+        this.capacity = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = this.capacity - 1;
+        this.width = width;
+
+        timestamps = new double[this.capacity];
+        values = new double[this.capacity * width];
+    }
+
+    // Producer
+
+    /**
+     * Claims the next slot for writing. Must be followed by {@link #commit(double)} once every value is written.
+     *
+     * @return The offset to write the sample's values at, or -1 if the buffer is full
+     */
+    public int claim() {
+        long index = writeIndex;
+        if (index - readIndex >= capacity) {
+            dropped++;
+            return -1;
+        }
+        return (int) (index & mask) * width;
+    }
+
+    /**
+     * Writes a value into a claimed slot.
+     *
+     * @param offset  Offset returned by {@link #claim()}
+     * @param channel Index of the value within the sample
+     * @param value   The value
+     */
+    public void set(int offset, int channel, double value) {
+        values[offset + channel] = value;
+    }
+
+    /**
+     * Publishes the claimed slot to the consumer.
+     *
+     * @param timestamp FPGA timestamp of the sample in seconds
+     */
+    public void commit(double timestamp) {
+        long index = writeIndex;
+        timestamps[(int) (index & mask)] = timestamp;
+        writeIndex = index + 1;
+    }
+
+    // Consumer
+
+    /**
+     * Drains every published sample in order.
+     *
+     * @param sink Receives each sample, the values array is only valid for the duration of the call
+     *
+     * @return The number of samples drained
+     */
+    public int drain(Sink sink) {
+        long read = readIndex;
+        long write = writeIndex;
+        for (long i = read; i < write; i++) {
+            int slot = (int) (i & mask);
+            sink.accept(timestamps[slot], values, slot * width);
+        }
+        readIndex = write;
+        return (int) (write - read);
+    }
+
+    // Getters
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of samples dropped because the consumer fell behind
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @param timestamp FPGA timestamp of the sample in seconds
+         * @param values    Backing value storage
+         * @param offset    Offset of the sample's first value
+         */
+        void accept(double timestamp, double[] values, int offset);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.signals;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import org.littletonrobotics.junction.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manages the update frequencies of groups of status signals on a single CAN bus. Each group has an active and an idle
+ * rate; the main thread selects between them and a {@link SignalSampler} applies the change on its own thread, as
+ * {@link BaseStatusSignal#setUpdateFrequencyForAll(double, BaseStatusSignal...)} blocks while waiting for each device.
+ * <p>
+ * Every signal not in a group is disabled by {@link #start(ParentDevice...)} through bus utilization optimization. The
+ * measured utilization of the bus is polled alongside and logged from the main thread.
+ */
+public final class SignalRateManager {
+    private static final long BUS_STATUS_PERIOD_NANOS = 1_000_000_000;
+
+    private final CANBus bus;
+
+    private final List<BaseStatusSignal[]> groups = new ArrayList<>();
+    private final List<double[]> rates = new ArrayList<>();
+    private double[] applied;
+
+    private volatile boolean active = false;
+    private boolean appliedActive = false;
+    private boolean started = false;
+
+    // -- Bus Status --
+
+    private final String utilizationKey;
+    private final String txFullKey;
+    private final String busOffKey;
+
+    private long lastBusStatus = 0;
+    private volatile double busUtilization = 0;
+    private volatile int txFullCount = 0;
+    private volatile int busOffCount = 0;
+
+    /**
+     * @param canbus Name of the CAN bus every signal lives on
+     */
+    public SignalRateManager(String canbus) {
+        bus = new CANBus(canbus);
+
+        utilizationKey = "CANBus/" + canbus + "/Utilization";
+        txFullKey = "CANBus/" + canbus + "/TxFullCount";
+        busOffKey = "CANBus/" + canbus + "/BusOffCount";
+    }
+
+    /**
+     * Adds a group of signals which share update frequencies. All groups must be added before
+     * {@link #start(ParentDevice...)}.
+     *
+     * @param activeHz Update frequency while active in hertz
+     * @param idleHz   Update frequency while idle in hertz
+     * @param signals  Signals in the group
+     *
+     * @return The index of the group
+     */
+    public int addGroup(double activeHz, double idleHz, BaseStatusSignal... signals) {
+        if (started) {
+            throw new IllegalStateException("Cannot add signal groups after the rate manager has started!");
+        }
+        groups.add(signals);
+        rates.add(new double[]{idleHz, activeHz});
+        return groups.size() - 1;
+    }
+
+    /**
+     * Applies the idle rates of every group, then disables every other signal of the given devices.
+     *
+     * @param devices Every device which owns a signal in a group
+     */
+    public void start(ParentDevice... devices) {
+        started = true;
+        applied = new double[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            applied[i] = rates.get(i)[0];
+            BaseStatusSignal.setUpdateFrequencyForAll(applied[i], groups.get(i));
+        }
+        ParentDevice.optimizeBusUtilizationForAll(devices);
+    }
+
+    /**
+     * Selects the active or idle rates. Safe to call every loop, changes are applied by the sampler.
+     *
+     * @param active Whether the active rates should be used
+     */
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    // Sampler Thread
+
+    /**
+     * Applies any pending rate change and periodically polls the bus status. Only called from the sampler thread.
+     */
+    void apply() {
+        boolean target = active;
+        if (target != appliedActive) {
+            int index = target ? 1 : 0;
+            for (int i = 0; i < applied.length; i++) {
+                double rate = rates.get(i)[index];
+                if (rate != applied[i]) {
+                    BaseStatusSignal.setUpdateFrequencyForAll(rate, groups.get(i));
+                    applied[i] = rate;
+                }
+            }
+            appliedActive = target;
+        }
+
+        long now = System.nanoTime();
+        if (now - lastBusStatus >= BUS_STATUS_PERIOD_NANOS) {
+            lastBusStatus = now;
+            var status = bus.getStatus();
+            if (status.Status.isOK()) {
+                busUtilization = status.BusUtilization;
+                txFullCount = status.TxFullCount;
+                busOffCount = status.BusOffCount;
+            }
+        }
+    }
+
+    /**
+     * @return The rate currently applied to the given group in hertz
+     */
+    double getAppliedRate(int group) {
+        return applied[group];
+    }
+
+    BaseStatusSignal[] getGroup(int group) {
+        return groups.get(group);
+    }
+
+    CANBus getBus() {
+        return bus;
+    }
+
+    // Main Thread
+
+    /**
+     * Logs the most recent bus status.
+     */
+    public void log() {
+        Logger.recordOutput(utilizationKey, busUtilization);
+        Logger.recordOutput(txFullKey, txFullCount);
+        Logger.recordOutput(busOffKey, busOffCount);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return The measured bus utilization from 0 to 1
+     */
+    public double getBusUtilization() {
+        return busUtilization;
+    }
+}
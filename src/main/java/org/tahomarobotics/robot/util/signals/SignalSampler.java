@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.signals;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import edu.wpi.first.wpilibj.Threads;
+import edu.wpi.first.wpilibj.Timer;
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples a set of status signals on a dedicated thread, refreshing all of them in a single batched call and publishing
+ * each refresh into a {@link SampleBuffer} for the main loop to drain.
+ * <p>
+ * Sampling is paced by a timing group of a {@link SignalRateManager}: on a CAN FD bus the thread blocks in
+ * {@link BaseStatusSignal#waitForAll(double, BaseStatusSignal...)} on that group so samples are aligned with its frames,
+ * otherwise it sleeps for one period of the group's rate and refreshes. Rate changes requested through the manager are
+ * applied between samples.
+ */
+public final class SignalSampler implements AutoCloseable {
+    private final String name;
+    private final SignalRateManager rates;
+    private final int timingGroup;
+
+    private final List<BaseStatusSignal> registered = new ArrayList<>();
+    private BaseStatusSignal[] signals;
+    private BaseStatusSignal[] timingSignals;
+    private SampleBuffer buffer;
+
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile long failures = 0;
+
+    /**
+     * @param name        Name of the sampler, used for the thread name
+     * @param rates       Rate manager for the bus every registered signal lives on
+     * @param timingGroup Group of the rate manager which paces sampling
+     */
+    public SignalSampler(String name, SignalRateManager rates, int timingGroup) {
+        this.name = name;
+        this.rates = rates;
+        this.timingGroup = timingGroup;
+    }
+
+    /**
+     * Registers a signal to be sampled. All signals must be registered before {@link #start(int)}.
+     *
+     * @param signal The signal
+     *
+     * @return The channel of the signal within each sample
+     */
+    public int register(BaseStatusSignal signal) {
+        if (thread != null) {
+            throw new IllegalStateException("Cannot register signals after the sampler has started!");
+        }
+        registered.add(signal);
+        return registered.size() - 1;
+    }
+
+    /**
+     * Starts the sampling thread. The rate manager must already be started.
+     *
+     * @param capacity Number of samples buffered for the consumer
+     *
+     * @return The buffer samples are published to
+     */
+    public SampleBuffer start(int capacity) {
+        if (thread != null) {
+            throw new IllegalStateException("Sampler '" + name + "' has already started!");
+        }
+        signals = registered.toArray(new BaseStatusSignal[0]);
+        timingSignals = rates.getGroup(timingGroup);
+        buffer = new SampleBuffer(capacity, signals.length);
+
+        running = true;
+        thread = new Thread(this::run, name + " Signal Sampler");
+        thread.setDaemon(true);
+        thread.start();
+
+        return buffer;
+    }
+
+    private void run() {
+        Threads.setCurrentThreadPriority(true, 1);
+
+        boolean synchronous = rates.getBus().isNetworkFD();
+
+        Log.info("Sampling {} signals ({})", signals.length, synchronous ? "synchronous" : "polled");
+
+        while (running) {
+            rates.apply();
+            double period = 1.0 / rates.getAppliedRate(timingGroup);
+
+            StatusCode status;
+            if (synchronous) {
+                status = BaseStatusSignal.waitForAll(2 * period, timingSignals);
+                BaseStatusSignal.refreshAll(signals);
+            } else {
+                LockSupport.parkNanos((long) (period * 1e9));
+                status = BaseStatusSignal.refreshAll(signals);
+            }
+            if (!status.isOK()) {
+                failures++;
+            }
+
+            int offset = buffer.claim();
+            if (offset < 0) { continue; }
+
+            for (int i = 0; i < signals.length; i++) {
+                buffer.set(offset, i, signals[i].getValueAsDouble());
+            }
+            double latency = 0;
+            for (BaseStatusSignal signal : timingSignals) {
+                latency += signal.getTimestamp().getLatency();
+            }
+            buffer.commit(Timer.getFPGATimestamp() - latency / timingSignals.length);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * @return The number of refreshes that did not return an OK status
+     */
+    public long getFailures() {
+        return failures;
+    }
+}
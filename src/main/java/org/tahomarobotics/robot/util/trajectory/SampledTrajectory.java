@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.trajectory;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * A time-parameterized trajectory resampled at a fixed resolution into primitive arrays, so sampling at any time is a
+ * constant-time index and linear interpolation between the two neighbouring samples, with no allocation.
+ */
+public final class SampledTrajectory {
+    private final String name;
+    private final double duration;
+    private final double dt;
+    private final double inverseDt;
+
+    final double[] x;
+    final double[] y;
+    final double[] heading;
+    final double[] velocity;
+    final double[] acceleration;
+    final double[] curvature;
+    /** Index into {@link #orientationNames} of the arm orientation at each sample. */
+    final byte[] orientations;
+    final String[] orientationNames;
+
+    SampledTrajectory(
+        String name, double duration, double[] x, double[] y, double[] heading, double[] velocity, double[] acceleration,
+        double[] curvature, byte[] orientations, String[] orientationNames) {
+        int n = x.length;
+        if (n < 2 || y.length != n || heading.length != n || velocity.length != n || acceleration.length != n ||
+            curvature.length != n || orientations.length != n) {
+            throw new IllegalArgumentException("Expected at least two samples and the same number in every channel!");
+        }
+        if (!(duration > 0)) {
+            throw new IllegalArgumentException("Duration must be positive!");
+        }
+        this.name = name;
+        this.duration = duration;
+        this.dt = duration / (n - 1);
+        this.inverseDt = 1 / dt;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+        this.curvature = curvature;
+        this.orientations = orientations;
+        this.orientationNames = orientationNames;
+    }
+
+    // Sampling
+
+    /**
+     * Samples the trajectory, clamping to its duration.
+     *
+     * @param time Time since the start of the trajectory in seconds
+     * @param out  Sample to write the result into
+     *
+     * @return The given sample
+     */
+    public Sample sample(double time, Sample out) {
+        double u = MathUtil.clamp(time, 0, duration) * inverseDt;
+        int i = Math.min((int) u, x.length - 2);
+        double t = u - i;
+
+        out.time = time;
+        out.x = lerp(x, i, t);
+        out.y = lerp(y, i, t);
+        out.heading = MathUtil.angleModulus(heading[i] + MathUtil.angleModulus(heading[i + 1] - heading[i]) * t);
+        out.velocity = lerp(velocity, i, t);
+        out.acceleration = lerp(acceleration, i, t);
+        out.curvature = lerp(curvature, i, t);
+        out.orientation = orientationNames[orientations[t < 0.5 ? i : i + 1]];
+        return out;
+    }
+
+    private static double lerp(double[] values, int i, double t) {
+        return values[i] + (values[i + 1] - values[i]) * t;
+    }
+
+    // Getters
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Duration in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return Time between samples in seconds
+     */
+    public double getResolution() {
+        return dt;
+    }
+
+    public int getSampleCount() {
+        return x.length;
+    }
+
+    /**
+     * A trajectory sample, reused between calls so sampling does not allocate.
+     */
+    public static final class Sample {
+        /** Time since the start of the trajectory in seconds. */
+        public double time;
+        /** End effector position in meters. */
+        public double x, y;
+        /** Direction of travel in radians. */
+        public double heading;
+        /** Speed along the path in meters per second. */
+        public double velocity;
+        /** Acceleration along the path in meters per second squared. */
+        public double acceleration;
+        /** Path curvature in radians per meter. */
+        public double curvature;
+        /** Arm orientation the trajectory was validated for, e.g. {@code UP} or {@code DOWN}. */
+        public String orientation;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.trajectory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Loads the {@code .traj} files saved by the BEEF editor ({@code python-tools/beef}) into {@link SampledTrajectory}s.
+ * <p>
+ * The files hold the editor's spline waypoints and constraints rather than samples, so each is regenerated with the
+ * same WPILib trajectory generator the editor uses, checked against the duration the editor saved, and resampled.
+ * The result is cached as a compact binary file keyed by a checksum of the source, the resolution and the cache format,
+ * so later boots read the samples straight back without parsing or generating anything. A stale or unreadable cache
+ * entry is simply regenerated.
+ */
+public final class TrajectoryLoader {
+    private static final String EXTENSION = ".traj";
+    private static final String CACHE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x54524A53; // "TRJS"
+    private static final int VERSION = 1;
+    private static final int CHANNELS = 6;
+
+    /** Largest difference in seconds between the regenerated duration and the one the editor saved. */
+    private static final double DURATION_TOLERANCE = 1e-3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TrajectoryLoader() {}
+
+    /**
+     * Loads every trajectory in a directory. Trajectories which fail to load are logged and left out.
+     *
+     * @param directory  Directory of {@code .traj} files
+     * @param cache      Directory for cached samples, created if missing
+     * @param resolution Samples per second of trajectory time
+     *
+     * @return Trajectories by file name without the extension
+     */
+    public static Map<String, SampledTrajectory> loadAll(File directory, File cache, double resolution) {
+        long start = System.nanoTime();
+        Map<String, SampledTrajectory> trajectories = new LinkedHashMap<>();
+
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) {
+            Log.warn("No trajectory directory at '{}'", directory);
+            return Collections.emptyMap();
+        }
+
+        int cached = 0;
+        for (File file : files) {
+            String name = file.getName().substring(0, file.getName().length() - EXTENSION.length());
+            File cacheFile = new File(cache, name + CACHE_EXTENSION);
+            try {
+                byte[] source = Files.readAllBytes(file.toPath());
+                long checksum = checksum(source);
+
+                SampledTrajectory trajectory = readCache(cacheFile, name, checksum, resolution);
+                if (trajectory != null) {
+                    cached++;
+                } else {
+                    trajectory = parse(name, source, resolution);
+                    writeCache(cacheFile, trajectory, checksum, resolution);
+                }
+                trajectories.put(name, trajectory);
+            } catch (IOException | RuntimeException e) {
+                Log.error("Failed to load trajectory '{}': {}", file.getName(), e.getMessage());
+            }
+        }
+
+        Log.info(
+            "Loaded {} trajectories ({} cached) in {} ms", trajectories.size(), cached, (System.nanoTime() - start) / 1e6);
+        return Collections.unmodifiableMap(trajectories);
+    }
+
+    // Parsing
+
+    /**
+     * Regenerates and resamples a trajectory from the editor's save format.
+     *
+     * @throws IllegalArgumentException If the file is malformed or does not regenerate to what the editor saved
+     */
+    static SampledTrajectory parse(String name, byte[] source, double resolution) throws IOException {
+        JsonNode root = MAPPER.readTree(source);
+
+        JsonNode config = require(root, "config");
+        TrajectoryConfig constraints = new TrajectoryConfig(
+            number(require(config, "max_velocity")), number(require(config, "max_acceleration")));
+
+        JsonNode points = require(root, "points");
+        if (!points.isArray() || points.size() < 2) {
+            throw new IllegalArgumentException("Expected at least two points");
+        }
+        List<Translation2d> interior = new ArrayList<>();
+        for (int i = 1; i < points.size() - 1; i++) {
+            interior.add(new Translation2d(number(points.get(i).get(0)), number(points.get(i).get(1))));
+        }
+        JsonNode first = points.get(0), last = points.get(points.size() - 1);
+        JsonNode startTangent = require(root, "start_tangent"), endTangent = require(root, "end_tangent");
+
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(
+            new Spline.ControlVector(
+                new double[]{number(first.get(0)), number(startTangent.get(0))},
+                new double[]{number(first.get(1)), number(startTangent.get(1))}
+            ),
+            interior,
+            new Spline.ControlVector(
+                new double[]{number(last.get(0)), number(endTangent.get(0))},
+                new double[]{number(last.get(1)), number(endTangent.get(1))}
+            ),
+            constraints
+        );
+
+        // The generator reports failures and returns an empty trajectory rather than throwing.
+        double duration = trajectory.getTotalTimeSeconds();
+        double saved = number(require(root, "duration"));
+        if (Math.abs(duration - saved) > DURATION_TOLERANCE) {
+            throw new IllegalArgumentException(
+                "Regenerated duration " + duration + " s does not match the saved " + saved + " s");
+        }
+
+        // Orientation changes as [time, name] pairs, each holding until the next.
+        JsonNode orientationChanges = require(root, "orientations");
+        if (!orientationChanges.isArray() || orientationChanges.isEmpty()) {
+            throw new IllegalArgumentException("Expected at least one orientation");
+        }
+        List<String> orientationNames = new ArrayList<>();
+        double[] changeTimes = new double[orientationChanges.size()];
+        byte[] changeOrientations = new byte[orientationChanges.size()];
+        for (int i = 0; i < changeTimes.length; i++) {
+            JsonNode change = orientationChanges.get(i);
+            changeTimes[i] = number(change.get(0));
+            String orientation = change.get(1).asText();
+            if (!orientationNames.contains(orientation)) { orientationNames.add(orientation); }
+            changeOrientations[i] = (byte) orientationNames.indexOf(orientation);
+        }
+
+        int n = (int) Math.ceil(duration * resolution) + 1;
+        double[][] channels = new double[CHANNELS][n];
+        byte[] orientations = new byte[n];
+        int change = 0;
+        for (int i = 0; i < n; i++) {
+            double time = duration * i / (n - 1);
+            Trajectory.State state = trajectory.sample(time);
+            channels[0][i] = state.poseMeters.getX();
+            channels[1][i] = state.poseMeters.getY();
+            channels[2][i] = state.poseMeters.getRotation().getRadians();
+            channels[3][i] = state.velocityMetersPerSecond;
+            channels[4][i] = state.accelerationMetersPerSecondSq;
+            channels[5][i] = state.curvatureRadPerMeter;
+
+            // Matches the editor, a change applies strictly after its time.
+            while (change + 1 < changeTimes.length && changeTimes[change + 1] < time) { change++; }
+            orientations[i] = changeOrientations[change];
+        }
+
+        return create(name, duration, channels, orientations, orientationNames.toArray(new String[0]));
+    }
+
+    private static JsonNode require(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Missing '" + field + "'");
+        }
+        return value;
+    }
+
+    private static double number(JsonNode node) {
+        if (node == null || !node.isNumber() || !Double.isFinite(node.asDouble())) {
+            throw new IllegalArgumentException("Expected a finite number but found " + node);
+        }
+        return node.asDouble();
+    }
+
+    private static SampledTrajectory create(
+        String name, double duration, double[][] channels, byte[] orientations, String[] orientationNames) {
+        for (double[] channel : channels) {
+            for (double value : channel) {
+                if (!Double.isFinite(value)) {
+                    throw new IllegalArgumentException("Trajectory has non-finite samples");
+                }
+            }
+        }
+        return new SampledTrajectory(
+            name, duration, channels[0], channels[1], channels[2], channels[3], channels[4], channels[5], orientations,
+            orientationNames
+        );
+    }
+
+    // Cache
+
+    private static long checksum(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        return crc.getValue();
+    }
+
+    /**
+     * @return The cached trajectory, or null if there is none or it is stale or unreadable
+     */
+    private static SampledTrajectory readCache(File file, String name, long checksum, double resolution) {
+        if (!file.isFile()) { return null; }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != checksum ||
+                buffer.getDouble() != resolution) {
+                return null;
+            }
+
+            double duration = buffer.getDouble();
+            int n = buffer.getInt();
+            String[] orientationNames = new String[buffer.getInt()];
+            for (int i = 0; i < orientationNames.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                orientationNames[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            double[][] channels = new double[CHANNELS][n];
+            for (double[] channel : channels) {
+                buffer.asDoubleBuffer().get(channel);
+                buffer.position(buffer.position() + n * Double.BYTES);
+            }
+            byte[] orientations = new byte[n];
+            buffer.get(orientations);
+            for (byte orientation : orientations) {
+                if (orientation < 0 || orientation >= orientationNames.length) { return null; }
+            }
+
+            return create(name, duration, channels, orientations, orientationNames);
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Discarding unreadable trajectory cache '{}': {}", file.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeCache(File file, SampledTrajectory trajectory, long checksum, double resolution) {
+        int n = trajectory.getSampleCount();
+        byte[][] names = new byte[trajectory.orientationNames.length][];
+        int size = 4 + 4 + 8 + 8 + 8 + 4 + 4 + CHANNELS * n * Double.BYTES + n;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = trajectory.orientationNames[i].getBytes(StandardCharsets.UTF_8);
+            size += 4 + names[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(checksum).putDouble(resolution);
+        buffer.putDouble(trajectory.getDuration()).putInt(n).putInt(names.length);
+        for (byte[] name : names) {
+            buffer.putInt(name.length).put(name);
+        }
+        for (double[] channel : new double[][]{
+            trajectory.x, trajectory.y, trajectory.heading, trajectory.velocity, trajectory.acceleration,
+            trajectory.curvature
+        }) {
+            buffer.asDoubleBuffer().put(channel);
+            buffer.position(buffer.position() + n * Double.BYTES);
+        }
+        buffer.put(trajectory.orientations);
+
+        // Written aside and moved into place, so an interrupted write never leaves a truncated entry.
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            File temporary = new File(file.getParentFile(), file.getName() + ".tmp");
+            Files.write(temporary.toPath(), buffer.array());
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.warn("Failed to cache trajectory '{}': {}", trajectory.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * A fixed-capacity ring of timestamped field-relative poses, interpolated at any time it covers. Samples are expected at
+ * a roughly fixed rate, so a lookup starts from the index the rate predicts and walks at most a few samples to correct
+ * for jitter, with no allocation. Not thread-safe, samples from another thread should be handed over through a
+ * {@link org.tahomarobotics.robot.util.signals.SampleBuffer} and added from the main thread.
+ */
+public final class PoseHistory {
+    private final int capacity;
+    private final int mask;
+    private final double frequency;
+
+    private final double[] timestamps;
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+
+    // Total number of samples ever added, the newest is at (count - 1) & mask.
+    private long count = 0;
+
+    /**
+     * @param seconds   Span of time to keep
+     * @param frequency Rate in hertz samples are added at
+     */
+    public PoseHistory(double seconds, double frequency) {
+        if (!(seconds > 0) || !(frequency > 0)) {
+            throw new IllegalArgumentException("Span and frequency must be positive!");
+        }
+        int minimum = (int) Math.ceil(seconds * frequency) + 1;
+        this.capacity = Integer.bitCount(minimum) == 1 ? minimum : Integer.highestOneBit(minimum) << 1;
+        this.mask = capacity - 1;
+        this.frequency = frequency;
+
+        timestamps = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        heading = new double[capacity];
+    }
+
+    /**
+     * Adds a sample, anything not newer than the newest sample is ignored.
+     *
+     * @param timestamp FPGA timestamp in seconds
+     * @param x         X position on the field in meters
+     * @param y         Y position on the field in meters
+     * @param heading   Heading on the field in radians
+     */
+    public void add(double timestamp, double x, double y, double heading) {
+        if (count > 0 && !(timestamp > timestamps[(int) ((count - 1) & mask)])) { return; }
+
+        int slot = (int) (count & mask);
+        this.timestamps[slot] = timestamp;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.heading[slot] = heading;
+        count++;
+    }
+
+    /**
+     * Removes every sample.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    // Sampling
+
+    /**
+     * Interpolates the pose at a time, holding the newest sample for anything after it.
+     *
+     * @param timestamp FPGA timestamp in seconds
+     * @param out       Pose to write the result into
+     *
+     * @return Whether the history covers the time, if not the output is untouched
+     */
+    public boolean sample(double timestamp, Pose out) {
+        int size = size();
+        if (size == 0 || !(timestamp >= getOldestTimestamp())) { return false; }
+
+        // Index from the oldest sample, starting where the rate puts it.
+        int newest = size - 1;
+        if (timestamp >= timestamps[slot(newest)]) {
+            return copy(slot(newest), timestamp, out);
+        }
+        int i = MathUtil.clamp(newest - 1 - (int) ((timestamps[slot(newest)] - timestamp) * frequency), 0, newest - 1);
+        while (i > 0 && timestamps[slot(i)] > timestamp) { i--; }
+        while (i < newest - 1 && timestamps[slot(i + 1)] <= timestamp) { i++; }
+
+        int a = slot(i), b = slot(i + 1);
+        double t = (timestamp - timestamps[a]) / (timestamps[b] - timestamps[a]);
+        out.timestamp = timestamp;
+        out.x = x[a] + (x[b] - x[a]) * t;
+        out.y = y[a] + (y[b] - y[a]) * t;
+        out.heading = MathUtil.angleModulus(heading[a] + MathUtil.angleModulus(heading[b] - heading[a]) * t);
+        return true;
+    }
+
+    /**
+     * @param out Pose to write the newest sample into
+     *
+     * @return Whether there is a sample, if not the output is untouched
+     */
+    public boolean latest(Pose out) {
+        return count > 0 && copy(slot(size() - 1), timestamps[slot(size() - 1)], out);
+    }
+
+    private boolean copy(int slot, double timestamp, Pose out) {
+        out.timestamp = timestamp;
+        out.x = x[slot];
+        out.y = y[slot];
+        out.heading = heading[slot];
+        return true;
+    }
+
+    /**
+     * @param index Index from the oldest sample held
+     */
+    private int slot(int index) {
+        return (int) ((count - size() + index) & mask);
+    }
+
+    // Getters
+
+    public int size() {
+        return (int) Math.min(count, capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return FPGA timestamp of the oldest sample held in seconds, or NaN if empty
+     */
+    public double getOldestTimestamp() {
+        return count == 0 ? Double.NaN : timestamps[slot(0)];
+    }
+
+    /**
+     * @return FPGA timestamp of the newest sample in seconds, or NaN if empty
+     */
+    public double getNewestTimestamp() {
+        return count == 0 ? Double.NaN : timestamps[(int) ((count - 1) & mask)];
+    }
+
+    public static final class Pose {
+        /** FPGA timestamp in seconds. */
+        public double timestamp;
+        /** Position on the field in meters. */
+        public double x, y;
+        /** Heading on the field in radians. */
+        public double heading;
+    }
+}
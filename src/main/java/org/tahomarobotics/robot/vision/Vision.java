@@ -0,0 +1,375 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import org.littletonrobotics.junction.Logger;
+import org.tahomarobotics.robot.RobotConfiguration;
+import org.tahomarobotics.robot.util.AbstractSubsystem;
+
+import java.util.function.Function;
+
+import static org.tahomarobotics.robot.vision.VisionConstants.*;
+
+/**
+ * Fuses AprilTag pose estimates from every camera into a field-relative pose and the distance from it to the shooter's
+ * target.
+ * <p>
+ * Estimates arrive on each camera's own thread and are drained once per loop. Each is rejected or weighted by its tag
+ * count, distance and ambiguity, then all of them are fused in order of capture against a {@link PoseHistory} of
+ * odometry at {@link RobotConfiguration#ODOMETRY_UPDATE_FREQUENCY}: an estimate corrects the odometry pose from when its
+ * image was captured, not the pose now, and the correction carries forward to the present through the odometry. The
+ * fusion is a scalar Kalman filter on that correction, with the odometry's variance growing between estimates.
+ * <p>
+ * There is no drivetrain, so unless odometry is given through {@link #addOdometry(double, double, double, double)} the
+ * history holds the robot stationary and the correction alone places it.
+ */
+public class Vision extends AbstractSubsystem {
+    private static final Vision INSTANCE = new Vision(switch (RobotConfiguration.MODE) {
+        case REAL -> cameras(VisionIOPhoton::new);
+        case SIM -> cameras(VisionIOSim::new);
+        // Everything is read back from the log.
+        case REPLAY -> cameras(camera -> new VisionIO() {});
+    });
+
+    // -- Log Keys --
+
+    private static final String INPUTS_KEY = "Vision/";
+    private static final String POSE_KEY = "Vision/EstimatedPose";
+    private static final String DISTANCE_KEY = "Vision/DistanceToTarget";
+    private static final String ESTIMATE_AGE_KEY = "Vision/EstimateAge";
+    private static final String CAPTURE_LATENCY_KEY = "Vision/CaptureLatency";
+    private static final String LINEAR_STD_DEV_KEY = "Vision/LinearStdDev";
+    private static final String ANGULAR_STD_DEV_KEY = "Vision/AngularStdDev";
+    private static final String ACCEPTED_KEY = "Vision/Accepted";
+    private static final String REJECTED_AMBIGUITY_KEY = "Vision/Rejected/Ambiguity";
+    private static final String REJECTED_BOUNDS_KEY = "Vision/Rejected/Bounds";
+    private static final String REJECTED_DISTANCE_KEY = "Vision/Rejected/Distance";
+    private static final String REJECTED_AGE_KEY = "Vision/Rejected/Age";
+
+    // -- IO --
+
+    private final VisionIO[] ios;
+    private final VisionIOInputsAutoLogged[] inputs;
+    private final String[] inputKeys;
+
+    // -- Pose History --
+
+    private final PoseHistory history = new PoseHistory(POSE_HISTORY_SECONDS, RobotConfiguration.ODOMETRY_UPDATE_FREQUENCY);
+    private final PoseHistory.Pose odometry = new PoseHistory.Pose();
+    private boolean odometryProvided = false;
+
+    // -- Pending Observations --
+
+    private final int[] order;
+    private final double[] timestamps, x, y, heading, linearVariance, angularVariance;
+    private int pending = 0;
+
+    // -- Estimate --
+
+    // Estimate = correction applied to odometry, a rotation about the origin followed by a translation.
+    private double correctionX = 0, correctionY = 0, correctionHeading = 0;
+    private double linearP = Double.NaN, angularP = Double.NaN;
+    private double lastFusedTimestamp = Double.NaN;
+
+    private double estimateX = Double.NaN, estimateY = Double.NaN, estimateHeading = Double.NaN;
+    private double distanceToTarget = Double.NaN;
+
+    // -- Diagnostics --
+
+    private long accepted = 0;
+    private long rejectedAmbiguity = 0, rejectedBounds = 0, rejectedDistance = 0, rejectedAge = 0;
+    private double captureLatency = Double.NaN;
+
+    Vision(VisionIO[] ios) {
+        this.ios = ios;
+        inputs = new VisionIOInputsAutoLogged[ios.length];
+        inputKeys = new String[ios.length];
+        for (int i = 0; i < ios.length; i++) {
+            inputs[i] = new VisionIOInputsAutoLogged();
+            inputKeys[i] = INPUTS_KEY + CAMERAS[i].name();
+        }
+
+        int capacity = ios.length * OBSERVATION_BUFFER_CAPACITY;
+        order = new int[capacity];
+        timestamps = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        heading = new double[capacity];
+        linearVariance = new double[capacity];
+        angularVariance = new double[capacity];
+    }
+
+    private static VisionIO[] cameras(Function<Camera, VisionIO> factory) {
+        VisionIO[] ios = new VisionIO[CAMERAS.length];
+        for (int i = 0; i < ios.length; i++) {
+            ios[i] = factory.apply(CAMERAS[i]);
+        }
+        return ios;
+    }
+
+    public static Vision getInstance() {
+        return INSTANCE;
+    }
+
+    // -- Odometry --
+
+    /**
+     * Adds an odometry sample to the pose history. Call from the main thread, in order, before this subsystem runs.
+     *
+     * @param timestamp FPGA timestamp of the sample in seconds
+     * @param x         X position in the odometry frame in meters
+     * @param y         Y position in the odometry frame in meters
+     * @param heading   Heading in the odometry frame in radians
+     */
+    public void addOdometry(double timestamp, double x, double y, double heading) {
+        odometryProvided = true;
+        history.add(timestamp, x, y, heading);
+    }
+
+    /**
+     * Fills the history up to now with a stationary pose at the odometry rate, standing in for a drivetrain.
+     */
+    private void holdStationary(double now) {
+        double period = 1 / RobotConfiguration.ODOMETRY_UPDATE_FREQUENCY;
+        double next = history.size() == 0 ? now : history.getNewestTimestamp() + period;
+        // Never spend longer than the history covers catching up, e.g. after a breakpoint.
+        next = Math.max(next, now - POSE_HISTORY_SECONDS);
+        for (; next <= now; next += period) {
+            history.add(next, 0, 0, 0);
+        }
+    }
+
+    // -- Periodic --
+
+    @Override
+    public void subsystemPeriodic() {
+        double now = Timer.getFPGATimestamp();
+        if (!odometryProvided) { holdStationary(now); }
+
+        pending = 0;
+        for (int i = 0; i < ios.length; i++) {
+            ios[i].updateInputs(inputs[i]);
+            Logger.processInputs(inputKeys[i], inputs[i]);
+            collect(inputs[i], now);
+        }
+
+        sortPending();
+        for (int i = 0; i < pending; i++) {
+            fuse(order[i]);
+        }
+
+        if (!Double.isNaN(lastFusedTimestamp) && history.latest(odometry)) {
+            double cos = Math.cos(correctionHeading), sin = Math.sin(correctionHeading);
+            estimateX = odometry.x * cos - odometry.y * sin + correctionX;
+            estimateY = odometry.x * sin + odometry.y * cos + correctionY;
+            estimateHeading = MathUtil.angleModulus(odometry.heading + correctionHeading);
+
+            boolean red = DriverStation.getAlliance().orElse(DriverStation.Alliance.Blue) == DriverStation.Alliance.Red;
+            double targetX = red ? FIELD_LAYOUT.getFieldLength() - BLUE_TARGET.getX() : BLUE_TARGET.getX();
+            double targetY = red ? FIELD_LAYOUT.getFieldWidth() - BLUE_TARGET.getY() : BLUE_TARGET.getY();
+            distanceToTarget = Math.hypot(targetX - estimateX, targetY - estimateY);
+
+            Logger.recordOutput(POSE_KEY, new Pose2d(estimateX, estimateY, new Rotation2d(estimateHeading)));
+        }
+
+        Logger.recordOutput(DISTANCE_KEY, getDistanceToTarget());
+        Logger.recordOutput(ESTIMATE_AGE_KEY, getEstimateAge());
+        Logger.recordOutput(CAPTURE_LATENCY_KEY, captureLatency);
+        Logger.recordOutput(LINEAR_STD_DEV_KEY, Math.sqrt(linearP));
+        Logger.recordOutput(ANGULAR_STD_DEV_KEY, Math.sqrt(angularP));
+        Logger.recordOutput(ACCEPTED_KEY, accepted);
+        Logger.recordOutput(REJECTED_AMBIGUITY_KEY, rejectedAmbiguity);
+        Logger.recordOutput(REJECTED_BOUNDS_KEY, rejectedBounds);
+        Logger.recordOutput(REJECTED_DISTANCE_KEY, rejectedDistance);
+        Logger.recordOutput(REJECTED_AGE_KEY, rejectedAge);
+    }
+
+    /**
+     * Rejects or weights each observation of a camera, queueing those accepted for fusion.
+     */
+    private void collect(VisionIO.VisionIOInputs camera, double now) {
+        for (int i = 0; i < camera.observationCount; i++) {
+            double timestamp = camera.timestamps[i];
+            int tags = camera.tagCount[i];
+            double distance = camera.averageTagDistance[i];
+
+            if (tags < 1 || (tags == 1 && camera.ambiguity[i] > MAX_AMBIGUITY)) {
+                rejectedAmbiguity++;
+            } else if (Math.abs(camera.z[i]) > MAX_Z_ERROR ||
+                       !(camera.x[i] >= 0 && camera.x[i] <= FIELD_LAYOUT.getFieldLength()) ||
+                       !(camera.y[i] >= 0 && camera.y[i] <= FIELD_LAYOUT.getFieldWidth())) {
+                rejectedBounds++;
+            } else if (!(distance <= MAX_TAG_DISTANCE)) {
+                rejectedDistance++;
+            } else if (!(now - timestamp <= MAX_OBSERVATION_AGE) || timestamp > now ||
+                       !(timestamp >= history.getOldestTimestamp())) {
+                rejectedAge++;
+            } else {
+                // Error grows with the square of distance and shrinks with every additional tag.
+                double scale = distance * distance / tags;
+                double linear = LINEAR_STD_DEV * scale, angular = ANGULAR_STD_DEV * scale;
+
+                int j = pending++;
+                timestamps[j] = timestamp;
+                x[j] = camera.x[i];
+                y[j] = camera.y[i];
+                heading[j] = camera.heading[i];
+                linearVariance[j] = linear * linear;
+                angularVariance[j] = angular * angular;
+            }
+        }
+    }
+
+    /**
+     * Orders pending observations by capture time. There are only ever a handful, and each camera's are already in order.
+     */
+    private void sortPending() {
+        for (int i = 0; i < pending; i++) {
+            int index = i, j = i;
+            while (j > 0 && timestamps[order[j - 1]] > timestamps[index]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = index;
+        }
+    }
+
+    private void fuse(int i) {
+        double timestamp = timestamps[i];
+        if (!history.sample(timestamp, odometry)) { return; }
+
+        double cos = Math.cos(correctionHeading), sin = Math.sin(correctionHeading);
+        double fusedX, fusedY, fusedHeading;
+        if (Double.isNaN(lastFusedTimestamp)) {
+            // The first estimate is taken whole.
+            fusedX = x[i];
+            fusedY = y[i];
+            fusedHeading = heading[i];
+            linearP = linearVariance[i];
+            angularP = angularVariance[i];
+            lastFusedTimestamp = timestamp;
+        } else {
+            // Odometry drifts between estimates, an estimate older than the last fused one adds no drift.
+            double elapsed = Math.max(0, timestamp - lastFusedTimestamp);
+            linearP += ODOMETRY_LINEAR_VARIANCE * elapsed;
+            angularP += ODOMETRY_ANGULAR_VARIANCE * elapsed;
+            lastFusedTimestamp = Math.max(lastFusedTimestamp, timestamp);
+
+            // The estimate at the time of capture.
+            double currentX = odometry.x * cos - odometry.y * sin + correctionX;
+            double currentY = odometry.x * sin + odometry.y * cos + correctionY;
+            double currentHeading = odometry.heading + correctionHeading;
+
+            double linearGain = linearP / (linearP + linearVariance[i]);
+            double angularGain = angularP / (angularP + angularVariance[i]);
+            linearP *= 1 - linearGain;
+            angularP *= 1 - angularGain;
+
+            fusedX = currentX + (x[i] - currentX) * linearGain;
+            fusedY = currentY + (y[i] - currentY) * linearGain;
+            fusedHeading = currentHeading + MathUtil.angleModulus(heading[i] - currentHeading) * angularGain;
+        }
+
+        // Re-solve the correction so it maps the odometry pose at capture onto the fused pose.
+        correctionHeading = MathUtil.angleModulus(fusedHeading - odometry.heading);
+        cos = Math.cos(correctionHeading);
+        sin = Math.sin(correctionHeading);
+        correctionX = fusedX - (odometry.x * cos - odometry.y * sin);
+        correctionY = fusedY - (odometry.x * sin + odometry.y * cos);
+
+        accepted++;
+        captureLatency = Timer.getFPGATimestamp() - timestamp;
+    }
+
+    // -- Getters --
+
+    /**
+     * @return Distance from the robot to the shooter's target in meters, compensated for the latency of every estimate
+     * fused, or NaN without an estimate in the last {@link VisionConstants#MAX_OBSERVATION_AGE} seconds
+     */
+    public double getDistanceToTarget() {
+        return hasTarget() ? distanceToTarget : Double.NaN;
+    }
+
+    /**
+     * @return Whether an estimate has been fused in the last {@link VisionConstants#MAX_OBSERVATION_AGE} seconds
+     */
+    public boolean hasTarget() {
+        return getEstimateAge() <= MAX_OBSERVATION_AGE;
+    }
+
+    /**
+     * @return Seconds since the capture of the newest estimate fused, or NaN before the first estimate
+     */
+    public double getEstimateAge() {
+        return Timer.getFPGATimestamp() - lastFusedTimestamp;
+    }
+
+    /**
+     * @return Estimated X position on the field in meters, or NaN before the first estimate
+     */
+    public double getX() {
+        return estimateX;
+    }
+
+    /**
+     * @return Estimated Y position on the field in meters, or NaN before the first estimate
+     */
+    public double getY() {
+        return estimateY;
+    }
+
+    /**
+     * @return Estimated heading on the field in radians, or NaN before the first estimate
+     */
+    public double getHeading() {
+        return estimateHeading;
+    }
+
+    // -- Diagnostics --
+
+    long getAccepted() {
+        return accepted;
+    }
+
+    long getRejectedAmbiguity() {
+        return rejectedAmbiguity;
+    }
+
+    long getRejectedBounds() {
+        return rejectedBounds;
+    }
+
+    long getRejectedDistance() {
+        return rejectedDistance;
+    }
+
+    long getRejectedAge() {
+        return rejectedAge;
+    }
+}
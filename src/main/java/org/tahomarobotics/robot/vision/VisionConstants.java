@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.util.Units;
+
+public class VisionConstants {
+    // -- Placeholders --
+
+    /**
+     * Whether the target and every camera below have been measured on this robot. None have yet: the target position
+     * and camera transforms are placeholders, and the camera names and calibrations come from another robot's
+     * PhotonVision exports. Until this is set, vision only aims the shooter in simulation.
+     */
+    public static final boolean GEOMETRY_MEASURED = false;
+
+    // -- Field --
+
+    public static final AprilTagFieldLayout FIELD_LAYOUT = AprilTagFieldLayout.loadField(AprilTagFields.kDefaultField);
+
+    /**
+     * Field-relative position of the shooter's target for the blue alliance, mirrored through the field's center for red.
+     * Placeholder, not yet measured against the field drawings.
+     */
+    public static final Translation2d BLUE_TARGET = new Translation2d(0.25, 5.55);
+
+    // -- Cameras --
+
+    /**
+     * @param name          Name of the camera in PhotonVision
+     * @param calibration   PhotonVision calibration export, relative to the deploy directory
+     * @param robotToCamera Transform from the robot's center on the floor to the camera
+     */
+    public record Camera(String name, String calibration, Transform3d robotToCamera) {}
+
+    // Placeholders: the names and calibrations are another robot's, and neither transform has been measured.
+    public static final Camera[] CAMERAS = {
+        new Camera(
+            "Elevator", "tooling/PhotonVision/ov9782_beef_elevator_swerve.json",
+            new Transform3d(0.28, 0.0, 0.22, new Rotation3d(0, Units.degreesToRadians(-20), 0))
+        ),
+        new Camera(
+            "Climber", "tooling/PhotonVision/ov9782_beef_climber_swerve.json",
+            new Transform3d(-0.28, 0.0, 0.22, new Rotation3d(0, Units.degreesToRadians(-20), Math.PI))
+        )
+    };
+
+    /** Observations buffered per camera between loops, a little over a loop of frames at 100 FPS. */
+    public static final int OBSERVATION_BUFFER_CAPACITY = 8;
+    /** Period at which each camera is polled for new results. */
+    public static final double POLL_PERIOD = 0.005;
+
+    // -- Rejection --
+
+    /** Single-tag estimates more ambiguous than this are rejected. */
+    public static final double MAX_AMBIGUITY = 0.2;
+    /** Estimates further than this off the floor in meters are rejected. */
+    public static final double MAX_Z_ERROR = 0.5;
+    /** Estimates with an average tag distance beyond this in meters are rejected. */
+    public static final double MAX_TAG_DISTANCE = 6;
+    /** Estimates captured longer ago than this in seconds are rejected. */
+    public static final double MAX_OBSERVATION_AGE = 0.5;
+
+    // -- Weighting --
+
+    /** Standard deviation of a single-tag estimate at one meter, in meters. */
+    public static final double LINEAR_STD_DEV = 0.04;
+    /** Standard deviation of a single-tag estimate's heading at one meter, in radians. */
+    public static final double ANGULAR_STD_DEV = 0.08;
+    /** Growth of the odometry's variance in meters squared per second of travel time. */
+    public static final double ODOMETRY_LINEAR_VARIANCE = 0.01;
+    /** Growth of the odometry's heading variance in radians squared per second. */
+    public static final double ODOMETRY_ANGULAR_VARIANCE = 0.0025;
+
+    // -- Pose History --
+
+    /** Seconds of odometry kept for latency compensation, comfortably longer than {@link #MAX_OBSERVATION_AGE}. */
+    public static final double POSE_HISTORY_SECONDS = 1;
+
+    // -- Simulation --
+
+    /** Where the robot sits in simulation, there is no drivetrain to move it. */
+    public static final Pose2d SIM_POSE = new Pose2d(3.25, 5.55, Rotation2d.k180deg);
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import org.littletonrobotics.junction.AutoLog;
+
+import static org.tahomarobotics.robot.vision.VisionConstants.OBSERVATION_BUFFER_CAPACITY;
+
+/**
+ * Hardware layer of one camera of {@link Vision}. Every pose estimate the camera produced since the last loop comes
+ * through {@link VisionIOInputs}, so a recorded log can be replayed through the fusion with this default no-op
+ * implementation.
+ */
+public interface VisionIO {
+    @AutoLog
+    public static class VisionIOInputs {
+        public boolean connected = false;
+
+        // -- Observations This Loop --
+
+        /** Number of observations since the last loop, only that many entries of the arrays are valid. */
+        public int observationCount = 0;
+        /** FPGA timestamps of image capture in seconds. */
+        public double[] timestamps = new double[OBSERVATION_BUFFER_CAPACITY];
+        /** Estimated robot position on the field in meters. */
+        public double[] x = new double[OBSERVATION_BUFFER_CAPACITY];
+        public double[] y = new double[OBSERVATION_BUFFER_CAPACITY];
+        public double[] z = new double[OBSERVATION_BUFFER_CAPACITY];
+        /** Estimated robot heading on the field in radians. */
+        public double[] heading = new double[OBSERVATION_BUFFER_CAPACITY];
+        /** Pose ambiguity of single-tag estimates, zero for multi-tag estimates. */
+        public double[] ambiguity = new double[OBSERVATION_BUFFER_CAPACITY];
+        public int[] tagCount = new int[OBSERVATION_BUFFER_CAPACITY];
+        /** Average distance from the camera to each tag used in meters. */
+        public double[] averageTagDistance = new double[OBSERVATION_BUFFER_CAPACITY];
+
+        // -- Diagnostics --
+
+        public long droppedObservations = 0;
+    }
+
+    /**
+     * Updates the inputs with every observation since the last call.
+     */
+    default void updateInputs(VisionIOInputs inputs) {}
+}
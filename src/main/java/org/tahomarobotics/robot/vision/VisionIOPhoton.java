@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.PhotonCamera;
+import org.photonvision.PhotonPoseEstimator;
+import org.photonvision.PhotonPoseEstimator.PoseStrategy;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+import org.tahomarobotics.robot.util.logging.Log;
+import org.tahomarobotics.robot.util.signals.SampleBuffer;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.tahomarobotics.robot.vision.VisionConstants.*;
+
+/**
+ * A PhotonVision camera. Results are polled and solved into robot poses on a thread of their own, so neither the
+ * NetworkTables decode nor the solve runs on the main loop, and handed over through a {@link SampleBuffer} timestamped
+ * at image capture.
+ */
+public class VisionIOPhoton implements VisionIO, AutoCloseable {
+    private static final int X = 0, Y = 1, Z = 2, HEADING = 3, AMBIGUITY = 4, TAG_COUNT = 5, TAG_DISTANCE = 6;
+    private static final int WIDTH = 7;
+
+    protected final PhotonCamera camera;
+    private final PhotonPoseEstimator estimator;
+    private final SampleBuffer buffer = new SampleBuffer(OBSERVATION_BUFFER_CAPACITY, WIDTH);
+    private final SampleBuffer.Sink sink = this::acceptObservation;
+
+    // Inputs being filled by the current drain.
+    private VisionIOInputs draining;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean connected = false;
+
+    public VisionIOPhoton(Camera configuration) {
+        camera = new PhotonCamera(configuration.name());
+        estimator = new PhotonPoseEstimator(
+            FIELD_LAYOUT, PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR, configuration.robotToCamera());
+        estimator.setMultiTagFallbackStrategy(PoseStrategy.LOWEST_AMBIGUITY);
+
+        thread = new Thread(this::run, configuration.name() + " Vision");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // -- Polling --
+
+    private void run() {
+        Log.info("Polling camera '{}'", camera.getName());
+
+        while (running) {
+            LockSupport.parkNanos((long) (POLL_PERIOD * 1e9));
+
+            connected = camera.isConnected();
+            for (PhotonPipelineResult result : camera.getAllUnreadResults()) {
+                if (!result.hasTargets()) { continue; }
+                estimator.update(result).ifPresent(this::publish);
+            }
+        }
+    }
+
+    private void publish(EstimatedRobotPose estimate) {
+        int offset = buffer.claim();
+        if (offset < 0) { return; }
+
+        List<PhotonTrackedTarget> targets = estimate.targetsUsed;
+        double distance = 0;
+        for (PhotonTrackedTarget target : targets) {
+            distance += target.getBestCameraToTarget().getTranslation().getNorm();
+        }
+
+        Pose3d pose = estimate.estimatedPose;
+        buffer.set(offset, X, pose.getX());
+        buffer.set(offset, Y, pose.getY());
+        buffer.set(offset, Z, pose.getZ());
+        buffer.set(offset, HEADING, pose.getRotation().getZ());
+        buffer.set(offset, AMBIGUITY, targets.size() == 1 ? targets.get(0).getPoseAmbiguity() : 0);
+        buffer.set(offset, TAG_COUNT, targets.size());
+        buffer.set(offset, TAG_DISTANCE, distance / targets.size());
+        buffer.commit(estimate.timestampSeconds);
+    }
+
+    // -- Inputs --
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        inputs.connected = connected;
+        inputs.observationCount = 0;
+        draining = inputs;
+        buffer.drain(sink);
+        draining = null;
+        inputs.droppedObservations = buffer.getDropped();
+    }
+
+    private void acceptObservation(double timestamp, double[] values, int offset) {
+        VisionIOInputs inputs = draining;
+        int i = inputs.observationCount++;
+        inputs.timestamps[i] = timestamp;
+        inputs.x[i] = values[offset + X];
+        inputs.y[i] = values[offset + Y];
+        inputs.z[i] = values[offset + Z];
+        inputs.heading[i] = values[offset + HEADING];
+        inputs.ambiguity[i] = values[offset + AMBIGUITY];
+        inputs.tagCount[i] = (int) values[offset + TAG_COUNT];
+        inputs.averageTagDistance[i] = values[offset + TAG_DISTANCE];
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        camera.close();
+    }
+}
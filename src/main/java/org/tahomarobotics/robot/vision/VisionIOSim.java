@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.wpi.first.math.MatBuilder;
+import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import org.photonvision.simulation.PhotonCameraSim;
+import org.photonvision.simulation.SimCameraProperties;
+import org.photonvision.simulation.VisionSystemSim;
+import org.tahomarobotics.robot.RobotConfiguration;
+import org.tahomarobotics.robot.util.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.tahomarobotics.robot.vision.VisionConstants.*;
+
+/**
+ * A PhotonVision camera simulated by PhotonLib, which renders the field's tags from the robot's pose and publishes
+ * results exactly as a coprocessor would. Everything downstream of the camera, including the polling thread, is the
+ * same code that runs on the robot.
+ * <p>
+ * The camera is modelled from its calibration export in the deploy directory. There is no drivetrain, so the robot is
+ * held at {@link VisionConstants#SIM_POSE} unless a pose is given.
+ */
+public class VisionIOSim extends VisionIOPhoton {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final double FPS = 50;
+    private static final double AVERAGE_LATENCY_MS = 25;
+    private static final double LATENCY_STD_DEV_MS = 5;
+    private static final double CALIBRATION_ERROR_PX = 0.25, CALIBRATION_ERROR_STD_DEV_PX = 0.08;
+
+    private final VisionSystemSim visionSim;
+    private final Pose2d pose;
+
+    public VisionIOSim(Camera configuration) {
+        this(configuration, SIM_POSE);
+    }
+
+    /**
+     * @param pose Where the robot is held on the field
+     */
+    VisionIOSim(Camera configuration, Pose2d pose) {
+        super(configuration);
+        this.pose = pose;
+
+        visionSim = new VisionSystemSim(configuration.name());
+        visionSim.addAprilTags(FIELD_LAYOUT);
+
+        PhotonCameraSim cameraSim = new PhotonCameraSim(camera, loadProperties(configuration));
+        visionSim.addCamera(cameraSim, configuration.robotToCamera());
+    }
+
+    private static SimCameraProperties loadProperties(Camera configuration) {
+        SimCameraProperties properties = new SimCameraProperties();
+        File file = new File(RobotConfiguration.DEPLOY_DIR, configuration.calibration());
+        try {
+            JsonNode root = MAPPER.readTree(file);
+            JsonNode resolution = root.get("resolution");
+            properties.setCalibration(
+                resolution.get("width").asInt(), resolution.get("height").asInt(),
+                MatBuilder.fill(Nat.N3(), Nat.N3(), numbers(root.get("cameraIntrinsics"), 9)),
+                MatBuilder.fill(Nat.N8(), Nat.N1(), numbers(root.get("distCoeffs"), 8))
+            );
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Failed to load calibration for camera '{}', using a default: {}", configuration.name(),
+                     e.getMessage());
+            properties.setCalibration(1280, 720, Rotation2d.fromDegrees(70));
+        }
+        properties.setFPS(FPS);
+        properties.setAvgLatencyMs(AVERAGE_LATENCY_MS);
+        properties.setLatencyStdDevMs(LATENCY_STD_DEV_MS);
+        properties.setCalibError(CALIBRATION_ERROR_PX, CALIBRATION_ERROR_STD_DEV_PX);
+        return properties;
+    }
+
+    private static double[] numbers(JsonNode matrix, int length) throws IOException {
+        JsonNode data = matrix.get("data");
+        if (data == null || data.size() != length) {
+            throw new IOException("Expected " + length + " values in a calibration matrix");
+        }
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = data.get(i).asDouble();
+        }
+        return values;
+    }
+
+    // -- Inputs --
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        visionSim.update(pose);
+        super.updateInputs(inputs);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FireSequencerTest {
+    private static final double EXIT_DIP = 15;
+    private static final double EPSILON = 1e-9;
+
+    private final FireSequencer sequencer = new FireSequencer(EXIT_DIP);
+
+    @Test
+    void measuresTimeToReadyAndExit() {
+        sequencer.prepare(1.0);
+        assertTrue(sequencer.isPreparing());
+
+        sequencer.ready(1.2);
+        sequencer.ready(1.3);
+        sequencer.feed(1.25, false);
+        assertTrue(sequencer.isFeeding());
+
+        sequencer.sample(1.26, -300);
+        sequencer.sample(1.27, -295);
+        assertFalse(sequencer.hasExited());
+        sequencer.sample(1.28, -280);
+        assertTrue(sequencer.hasExited());
+        sequencer.sample(1.29, -270);
+
+        sequencer.finish();
+        assertEquals(1, sequencer.getShots());
+        assertEquals(0.2, sequencer.getTimeToReady(), EPSILON);
+        assertEquals(0.03, sequencer.getTimeToExit(), EPSILON);
+        assertEquals(30, sequencer.getFlywheelDip(), EPSILON);
+    }
+
+    @Test
+    void forcedFeedBelowTargetIsNotAnExit() {
+        // The flywheel never reached its commanded speed, e.g. 300, so the feed was forced at 250.
+        sequencer.prepare(0);
+        sequencer.feed(1.0, true);
+
+        sequencer.sample(1.01, -250);
+        sequencer.sample(1.02, -249);
+        assertFalse(sequencer.hasExited());
+        sequencer.sample(1.05, -232);
+        assertTrue(sequencer.hasExited());
+
+        sequencer.finish();
+        assertEquals(1.0, sequencer.getTimeToReady(), EPSILON);
+        assertEquals(0.05, sequencer.getTimeToExit(), EPSILON);
+        assertEquals(18, sequencer.getFlywheelDip(), EPSILON);
+    }
+
+    @Test
+    void samplesBeforeTheFeedAreIgnored() {
+        sequencer.prepare(0);
+        sequencer.ready(0.1);
+        sequencer.sample(0.15, -200);
+        sequencer.feed(0.2, false);
+
+        // A stale sample from before the feed neither sets the baseline nor counts as a dip.
+        sequencer.sample(0.19, -150);
+        sequencer.sample(0.21, -300);
+        sequencer.sample(0.22, -290);
+
+        sequencer.finish();
+        assertTrue(Double.isNaN(sequencer.getTimeToExit()));
+        assertEquals(10, sequencer.getFlywheelDip(), EPSILON);
+    }
+
+    @Test
+    void finishWithoutFeedingRecordsNothing() {
+        sequencer.prepare(0);
+        sequencer.finish();
+        assertEquals(0, sequencer.getShots());
+        assertTrue(sequencer.isPreparing());
+    }
+
+    @Test
+    void eachShotMeasuresFromItsOwnFeed() {
+        sequencer.prepare(0);
+        sequencer.feed(0.1, false);
+        sequencer.sample(0.11, 300);
+        sequencer.sample(0.12, 280);
+        sequencer.finish();
+
+        sequencer.prepare(1);
+        sequencer.feed(1.1, false);
+        sequencer.sample(1.11, 260);
+        sequencer.sample(1.12, 250);
+        assertFalse(sequencer.hasExited());
+        sequencer.sample(1.13, 240);
+        sequencer.finish();
+
+        assertEquals(2, sequencer.getShots());
+        assertEquals(0.03, sequencer.getTimeToExit(), EPSILON);
+        assertEquals(20, sequencer.getFlywheelDip(), EPSILON);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.Command;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.littletonrobotics.junction.LogDataReceiver;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.LogTable.LogValue;
+import org.littletonrobotics.junction.Logger;
+import org.littletonrobotics.junction.inputs.LoggableInputs;
+import org.tahomarobotics.robot.Allocations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The shooter's control and logging path must not allocate once warm, or its garbage shows up as GC pauses and loop
+ * overruns on the roboRIO.
+ * <p>
+ * AdvantageKit records for real here, into a receiver that keeps nothing. Recording allocates a value and a prefixed key
+ * per entry, which is AdvantageKit's own cost, so each loop is measured against replaying the same entries straight into
+ * AdvantageKit. Anything beyond that is the shooter's.
+ */
+class ShooterAllocationTest {
+    private static final int WARMUP_LOOPS = 50_000;
+    private static final int MEASURED_LOOPS = 10_000;
+    /** Less than the smallest object per loop, so any allocation on every loop fails while JIT noise does not. */
+    private static final long TOLERANCE_BYTES = MEASURED_LOOPS * 16L;
+
+    private static final String INPUTS_KEY = "Shooter";
+    private static final String INPUTS_PREFIX = INPUTS_KEY + "/";
+    private static final String OUTPUTS_PREFIX = "RealOutputs/";
+
+    private static final CapturingReceiver RECEIVER = new CapturingReceiver();
+    private static Map<String, LogValue> loggerEntries;
+
+    @BeforeAll
+    static void initialize() {
+        HAL.initialize(500, 0);
+        Logger.addDataReceiver(RECEIVER);
+        Logger.start();
+        loggerEntries = capture(() -> {});
+    }
+
+    @AfterAll
+    static void shutdown() {
+        Logger.end();
+    }
+
+    @Test
+    void steadyStateLoopDoesNotAllocate() {
+        Shooter shooter = new Shooter(new ShooterIO() {});
+        Command aim = ShooterCommands.moveToAngle(shooter, () -> 3.5);
+        aim.initialize();
+
+        long bytes = Allocations.measure(WARMUP_LOOPS, MEASURED_LOOPS, () -> {
+            aim.execute();
+            shooter.periodic();
+        });
+
+        Replay replay = new Replay(capture(shooter::periodic));
+        long baseline = Allocations.measure(WARMUP_LOOPS, MEASURED_LOOPS, replay::run);
+
+        assertWithinBaseline(bytes, baseline);
+    }
+
+    @Test
+    void transitionsDoNotAllocate() {
+        Shooter shooter = new Shooter(new ShooterIO() {});
+
+        long bytes = Allocations.measure(WARMUP_LOOPS, MEASURED_LOOPS, () -> {
+            shooter.collect();
+            shooter.periodic();
+            shooter.aim(90);
+            shooter.periodic();
+            shooter.spinUp();
+            shooter.periodic();
+            shooter.idle();
+            shooter.periodic();
+        });
+
+        Replay replay = new Replay(capture(shooter::periodic));
+        long baseline = Allocations.measure(WARMUP_LOOPS, MEASURED_LOOPS, () -> {
+            replay.run();
+            replay.run();
+            replay.run();
+            replay.run();
+        });
+
+        assertWithinBaseline(bytes, baseline);
+    }
+
+    private static void assertWithinBaseline(long bytes, long baseline) {
+        assertTrue(bytes - baseline < TOLERANCE_BYTES,
+                   "Bytes allocated over " + MEASURED_LOOPS + " loops: " + bytes + ", of which AdvantageKit " + baseline);
+    }
+
+    // -- Capture --
+
+    /**
+     * Runs one logged cycle around the body and waits for the receiver to be handed its entries.
+     */
+    private static Map<String, LogValue> capture(Runnable body) {
+        RECEIVER.latest = null;
+        Logger.periodicBeforeUser();
+        body.run();
+        Logger.periodicAfterUser(0, 0);
+
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while (RECEIVER.latest == null && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertNotNull(RECEIVER.latest, "Cycle received");
+        return RECEIVER.latest;
+    }
+
+    private static final class CapturingReceiver implements LogDataReceiver {
+        private volatile Map<String, LogValue> latest;
+
+        @Override
+        public void putTable(LogTable table) {
+            latest = table.getAll(false);
+        }
+    }
+
+    /**
+     * Records the entries one shooter loop recorded, the same way the shooter records them, minus AdvantageKit's own.
+     */
+    private static final class Replay implements LoggableInputs {
+        private final String[] inputKeys, outputKeys;
+        private final LogValue[] inputValues, outputValues;
+
+        private Replay(Map<String, LogValue> entries) {
+            List<String> inputs = new ArrayList<>(), outputs = new ArrayList<>();
+            for (String key : entries.keySet()) {
+                if (loggerEntries.containsKey(key)) { continue; }
+                if (key.startsWith(INPUTS_PREFIX)) { inputs.add(key); }
+                if (key.startsWith(OUTPUTS_PREFIX)) { outputs.add(key); }
+            }
+
+            inputKeys = new String[inputs.size()];
+            inputValues = new LogValue[inputs.size()];
+            for (int i = 0; i < inputKeys.length; i++) {
+                inputKeys[i] = inputs.get(i).substring(INPUTS_PREFIX.length());
+                inputValues[i] = entries.get(inputs.get(i));
+            }
+            outputKeys = new String[outputs.size()];
+            outputValues = new LogValue[outputs.size()];
+            for (int i = 0; i < outputKeys.length; i++) {
+                outputKeys[i] = outputs.get(i).substring(OUTPUTS_PREFIX.length());
+                outputValues[i] = entries.get(outputs.get(i));
+            }
+        }
+
+        private void run() {
+            Logger.processInputs(INPUTS_KEY, this);
+            for (int i = 0; i < outputKeys.length; i++) {
+                record(outputKeys[i], outputValues[i]);
+            }
+        }
+
+        @Override
+        public void toLog(LogTable table) {
+            for (int i = 0; i < inputKeys.length; i++) {
+                LogValue value = inputValues[i];
+                switch (value.type) {
+                    case Boolean -> table.put(inputKeys[i], value.getBoolean());
+                    case Integer -> table.put(inputKeys[i], value.getInteger());
+                    case Float -> table.put(inputKeys[i], value.getFloat());
+                    case Double -> table.put(inputKeys[i], value.getDouble());
+                    case String -> table.put(inputKeys[i], value.getString());
+                    case BooleanArray -> table.put(inputKeys[i], value.getBooleanArray());
+                    case IntegerArray -> table.put(inputKeys[i], value.getIntegerArray());
+                    case FloatArray -> table.put(inputKeys[i], value.getFloatArray());
+                    case DoubleArray -> table.put(inputKeys[i], value.getDoubleArray());
+                    case StringArray -> table.put(inputKeys[i], value.getStringArray());
+                    default -> table.put(inputKeys[i], value.getRaw());
+                }
+            }
+        }
+
+        @Override
+        public void fromLog(LogTable table) {}
+
+        private static void record(String key, LogValue value) {
+            switch (value.type) {
+                case Boolean -> Logger.recordOutput(key, value.getBoolean());
+                case Integer -> Logger.recordOutput(key, value.getInteger());
+                case Float -> Logger.recordOutput(key, value.getFloat());
+                case Double -> Logger.recordOutput(key, value.getDouble());
+                case String -> Logger.recordOutput(key, value.getString());
+                case BooleanArray -> Logger.recordOutput(key, value.getBooleanArray());
+                case IntegerArray -> Logger.recordOutput(key, value.getIntegerArray());
+                case FloatArray -> Logger.recordOutput(key, value.getFloatArray());
+                case DoubleArray -> Logger.recordOutput(key, value.getDoubleArray());
+                case StringArray -> Logger.recordOutput(key, value.getStringArray());
+                default -> Logger.recordOutput(key, value.getRaw());
+            }
+        }
+    }
+}
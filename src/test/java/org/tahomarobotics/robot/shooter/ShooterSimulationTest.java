@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.shooter;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tahomarobotics.robot.shooter.ShooterConstants.PIVOT_TOLERANCE_DEGREES;
+
+/**
+ * Runs collect, aim and fire cycles through {@link ShooterIOSim} on a paused clock, stepped one loop at a time, so the
+ * whole sequence runs as fast as the CPU allows.
+ */
+class ShooterSimulationTest {
+    private static final double LOOP_PERIOD = 0.02;
+    private static final int CYCLES = 10;
+
+    private static final double COLLECT_SECONDS = 0.5;
+    /** Long enough for the flywheel to reverse from collecting to the shot speed. */
+    private static final double AIM_SECONDS = 5;
+    private static final double FIRE_TIMEOUT = 2;
+    private static final double SHOT_DISTANCE = 3;
+
+    private ShooterIOSim io;
+    private Shooter shooter;
+
+    @BeforeAll
+    static void initialize() {
+        HAL.initialize(500, 0);
+    }
+
+    @BeforeEach
+    void setup() {
+        SimHooks.pauseTiming();
+        io = new ShooterIOSim();
+        shooter = new Shooter(io);
+        // Driven loop by loop below, never by the scheduler.
+        CommandScheduler.getInstance().unregisterSubsystem(shooter);
+    }
+
+    @AfterEach
+    void teardown() {
+        SimHooks.resumeTiming();
+    }
+
+    @Test
+    void collectAimFireCycles() {
+        double simulationStart = Timer.getFPGATimestamp();
+        long start = System.nanoTime();
+
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            run(ShooterCommands.collect(shooter), LOOP_PERIOD);
+            step(COLLECT_SECONDS);
+            assertTrue(io.hasGamePiece(), "Game piece collected in cycle " + cycle);
+
+            run(ShooterCommands.moveToAngle(shooter, () -> SHOT_DISTANCE), AIM_SECONDS);
+            double pivotDegrees = Units.rotationsToDegrees(shooter.getPivotPosition());
+            assertEquals(shooter.getPivotTargetDegrees(), pivotDegrees, PIVOT_TOLERANCE_DEGREES,
+                         "Pivot converged in cycle " + cycle);
+            assertTrue(shooter.isReadyToFire(), "Pivot and flywheel ready in cycle " + cycle);
+
+            assertTrue(run(ShooterCommands.fire(shooter), FIRE_TIMEOUT), "Fire finished in cycle " + cycle);
+            assertTrue(shooter.hasShotExited(), "Shot detected in cycle " + cycle);
+            assertFalse(io.hasGamePiece(), "Game piece left in cycle " + cycle);
+        }
+
+        double simulated = Timer.getFPGATimestamp() - simulationStart;
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        assertTrue(simulated > elapsed, "Simulated " + simulated + " s in " + elapsed + " s, slower than real time");
+    }
+
+    @Test
+    void firingWithoutAGamePieceTimesOut() {
+        run(ShooterCommands.moveToAngle(shooter, () -> SHOT_DISTANCE), AIM_SECONDS);
+        assertTrue(run(ShooterCommands.fire(shooter), FIRE_TIMEOUT));
+        assertFalse(shooter.hasShotExited());
+    }
+
+    @Test
+    void interruptingAShotStopsTheFeed() {
+        run(ShooterCommands.collect(shooter), LOOP_PERIOD);
+        step(COLLECT_SECONDS);
+        run(ShooterCommands.moveToAngle(shooter, () -> SHOT_DISTANCE), AIM_SECONDS);
+
+        Command fire = ShooterCommands.fire(shooter);
+        fire.initialize();
+        for (double t = 0; t < FIRE_TIMEOUT && shooter.getState() != ShooterState.FIRING; t += LOOP_PERIOD) {
+            step(LOOP_PERIOD);
+            fire.execute();
+        }
+        assertEquals(ShooterState.FIRING, shooter.getState(), "Feeding before the interrupt");
+        fire.end(true);
+
+        assertEquals(ShooterState.SPINNING_UP, shooter.getState());
+        step(0.25);
+        assertEquals(0, shooter.getPassthroughVelocity(), 1, "Passthrough stopped after the interrupt");
+    }
+
+    @Test
+    void responseIsMeasuredFromTheFirstFrameAfterAwaiting() {
+        // Retargeted every loop, so a new frame goes out every loop before and after the one being measured.
+        double[] distance = {2};
+        Command aim = ShooterCommands.moveToAngle(shooter, () -> distance[0] += 0.01);
+        aim.initialize();
+        for (int i = 0; i < 10; i++) {
+            step(LOOP_PERIOD);
+            aim.execute();
+        }
+
+        step(LOOP_PERIOD);
+        double since = Timer.getFPGATimestamp();
+        shooter.awaitResponse(since);
+        distance[0] = 4;
+        aim.execute();
+
+        for (double t = 0; t < 1 && Double.isNaN(shooter.getResponseTimestamp()); t += LOOP_PERIOD) {
+            step(LOOP_PERIOD);
+            aim.execute();
+            assertEquals(since, shooter.getResponseFrameTimestamp(), 0, "Frame latched once and kept");
+        }
+        aim.end(true);
+
+        assertTrue(shooter.getResponseTimestamp() > since, "Response detected after the frame");
+        assertEquals(since, shooter.getResponseFrameTimestamp(), 0);
+    }
+
+    @Test
+    void steppingIsDeterministic() {
+        ShooterIOSim otherIO = new ShooterIOSim();
+        Shooter other = new Shooter(otherIO);
+        CommandScheduler.getInstance().unregisterSubsystem(other);
+
+        shooter.aim(120);
+        other.aim(120);
+        for (int i = 0; i < 25; i++) {
+            SimHooks.stepTiming(LOOP_PERIOD);
+            shooter.periodic();
+            other.periodic();
+            assertEquals(shooter.getPivotPosition(), other.getPivotPosition(), 0);
+            assertEquals(shooter.getFlywheelVelocity(), other.getFlywheelVelocity(), 0);
+        }
+    }
+
+    // -- Helpers --
+
+    /**
+     * Runs a command one loop at a time on the stepped clock, as the scheduler would after the subsystem's periodic.
+     *
+     * @return Whether the command finished before the timeout
+     */
+    private boolean run(Command command, double timeout) {
+        command.initialize();
+        for (double t = 0; t < timeout; t += LOOP_PERIOD) {
+            step(LOOP_PERIOD);
+            command.execute();
+            if (command.isFinished()) {
+                command.end(false);
+                return true;
+            }
+        }
+        command.end(true);
+        return false;
+    }
+
+    private void step(double seconds) {
+        for (double t = 0; t < seconds; t += LOOP_PERIOD) {
+            SimHooks.stepTiming(LOOP_PERIOD);
+            shooter.periodic();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.util.logging;
+
+import org.junit.jupiter.api.Test;
+import org.tahomarobotics.robot.Allocations;
+import org.tinylog.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Calls below the configured level must cost a comparison and nothing else. The test configuration logs from debug, so
+ * trace templates are what is filtered here.
+ */
+class LogAllocationTest {
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    private static final Log.Template TEMPLATE = Log.template(Level.TRACE, "Pivot at {} after {} ms, {}");
+
+    private final String name = "Pivot";
+    private long count = 0;
+    private double value = 0;
+
+    @Test
+    void traceIsFiltered() {
+        assertFalse(Log.isEnabled(Level.TRACE));
+        assertFalse(TEMPLATE.isEnabled());
+    }
+
+    @Test
+    void filteredCallsDoNotAllocate() {
+        long bytes = Allocations.measure(WARMUP_CALLS, MEASURED_CALLS, () -> {
+            TEMPLATE.log();
+            TEMPLATE.log(name);
+            TEMPLATE.log(count++);
+            TEMPLATE.log(value++);
+            TEMPLATE.log(name, name);
+            TEMPLATE.log(name, count++);
+            TEMPLATE.log(name, value++);
+            TEMPLATE.log(count++, count);
+            TEMPLATE.log(name, name, name);
+        });
+
+        assertEquals(0, bytes, "Bytes allocated over " + MEASURED_CALLS + " calls");
+    }
+}
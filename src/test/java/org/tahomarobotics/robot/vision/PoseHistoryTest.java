@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoseHistoryTest {
+    private static final double FREQUENCY = 100;
+    private static final double PERIOD = 1 / FREQUENCY;
+    private static final double EPSILON = 1e-9;
+
+    /** A tenth of a second at 100 Hz needs 11 samples, rounded up to 16. */
+    private final PoseHistory history = new PoseHistory(0.1, FREQUENCY);
+    private final PoseHistory.Pose pose = new PoseHistory.Pose();
+
+    @Test
+    void capacityIsThePowerOfTwoCoveringTheSpan() {
+        assertEquals(16, history.getCapacity());
+        assertEquals(128, new PoseHistory(1, FREQUENCY).getCapacity());
+        assertEquals(4, new PoseHistory(0.03, FREQUENCY).getCapacity());
+    }
+
+    @Test
+    void interpolatesBetweenSamples() {
+        history.add(1.00, 0, 0, 0);
+        history.add(1.01, 1, 2, 0.2);
+
+        assertTrue(history.sample(1.0025, pose));
+        assertEquals(1.0025, pose.timestamp, EPSILON);
+        assertEquals(0.25, pose.x, EPSILON);
+        assertEquals(0.5, pose.y, EPSILON);
+        assertEquals(0.05, pose.heading, EPSILON);
+    }
+
+    @Test
+    void interpolatesHeadingTheShortWayAcrossPi() {
+        history.add(0.00, 0, 0, Math.PI - 0.1);
+        history.add(0.01, 0, 0, -Math.PI + 0.1);
+
+        assertTrue(history.sample(0.0025, pose));
+        assertEquals(Math.PI - 0.05, pose.heading, EPSILON);
+        assertTrue(history.sample(0.0075, pose));
+        assertEquals(-Math.PI + 0.05, pose.heading, EPSILON);
+    }
+
+    @Test
+    void holdsTheNewestSampleAfterIt() {
+        history.add(0.00, 0, 0, 0);
+        history.add(0.01, 1, 2, 3);
+
+        assertTrue(history.sample(5, pose));
+        assertEquals(5, pose.timestamp, EPSILON);
+        assertEquals(1, pose.x, EPSILON);
+        assertEquals(2, pose.y, EPSILON);
+        assertEquals(3, pose.heading, EPSILON);
+
+        assertTrue(history.latest(pose));
+        assertEquals(0.01, pose.timestamp, EPSILON);
+    }
+
+    @Test
+    void leavesTheOutputAloneOutsideTheHistory() {
+        pose.x = 42;
+        assertFalse(history.sample(0, pose));
+        assertFalse(history.latest(pose));
+        assertTrue(Double.isNaN(history.getOldestTimestamp()));
+
+        history.add(1, 0, 0, 0);
+        assertFalse(history.sample(0.99, pose));
+        assertFalse(history.sample(Double.NaN, pose));
+        assertEquals(42, pose.x);
+    }
+
+    @Test
+    void ignoresSamplesNotNewerThanTheNewest() {
+        history.add(1, 1, 0, 0);
+        history.add(1, 2, 0, 0);
+        history.add(0.5, 3, 0, 0);
+
+        assertEquals(1, history.size());
+        assertTrue(history.latest(pose));
+        assertEquals(1, pose.x);
+    }
+
+    @Test
+    void evictsTheOldestSamplesAcrossWraparound() {
+        int capacity = history.getCapacity();
+        int total = capacity * 2 + 5;
+        for (int i = 0; i < total; i++) {
+            history.add(i * PERIOD, i, -i, 0);
+        }
+
+        int oldest = total - capacity;
+        assertEquals(capacity, history.size());
+        assertEquals(oldest * PERIOD, history.getOldestTimestamp(), EPSILON);
+        assertEquals((total - 1) * PERIOD, history.getNewestTimestamp(), EPSILON);
+        assertFalse(history.sample((oldest - 0.5) * PERIOD, pose), "Evicted samples are gone");
+
+        // Includes the interval spanning the end of the ring back to its start.
+        for (int i = oldest; i < total - 1; i++) {
+            assertTrue(history.sample((i + 0.5) * PERIOD, pose), "Covers sample " + i);
+            assertEquals(i + 0.5, pose.x, 1e-6, "Between samples " + i + " and " + (i + 1));
+            assertEquals(-(i + 0.5), pose.y, 1e-6);
+        }
+    }
+
+    @Test
+    void findsSamplesAddedWithJitter() {
+        // Up to 40 % of a period early or late, so the index the rate predicts is off by one either way.
+        double[] jitter = {0.4, -0.4, 0.1, -0.3, 0.35, 0, -0.2, 0.4};
+        int total = history.getCapacity() + jitter.length;
+        double[] timestamps = new double[total];
+        for (int i = 0; i < total; i++) {
+            timestamps[i] = (i + jitter[i % jitter.length]) * PERIOD;
+            history.add(timestamps[i], i, 0, 0);
+        }
+
+        for (int i = total - history.getCapacity(); i < total - 1; i++) {
+            double timestamp = (timestamps[i] + timestamps[i + 1]) / 2;
+            assertTrue(history.sample(timestamp, pose));
+            assertEquals(i + 0.5, pose.x, 1e-6, "Between samples " + i + " and " + (i + 1));
+        }
+    }
+
+    @Test
+    void clearRemovesEverySample() {
+        history.add(1, 0, 0, 0);
+        history.clear();
+
+        assertEquals(0, history.size());
+        assertFalse(history.latest(pose));
+        history.add(0.5, 0, 0, 0);
+        assertEquals(1, history.size());
+    }
+}
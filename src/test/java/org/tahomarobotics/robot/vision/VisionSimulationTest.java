@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tahomarobotics.robot.vision.VisionConstants.*;
+
+/**
+ * Runs {@link Vision} against a PhotonLib simulated camera with the robot held at a known pose, through the same
+ * polling thread and fusion as on the robot.
+ */
+class VisionSimulationTest {
+    private static final double LOOP_PERIOD = 0.02;
+    private static final int MAX_LOOPS = 250;
+    /** Estimates fused before the pose is checked, so one noisy frame cannot pass alone. */
+    private static final int MIN_ACCEPTED = 10;
+    private static final double POSITION_TOLERANCE = 0.1;
+
+    /**
+     * About two meters square on to the blue reef's near face, with the faces either side of it in view for a multi-tag
+     * estimate.
+     */
+    private static final Pose2d POSE = new Pose2d(1.5, 4.03, Rotation2d.kZero);
+    /** A level camera at the front of the robot, so the test does not depend on the placeholder transforms. */
+    private static final Camera CAMERA = new Camera(
+        "Test", CAMERAS[0].calibration(), new Transform3d(0.3, 0, 0.3, new Rotation3d()));
+
+    private VisionIOSim io;
+    private Vision vision;
+
+    @BeforeAll
+    static void initialize() {
+        HAL.initialize(500, 0);
+    }
+
+    @BeforeEach
+    void setup() {
+        SimHooks.pauseTiming();
+        DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        DriverStationSim.notifyNewData();
+
+        io = new VisionIOSim(CAMERA, POSE);
+        vision = new Vision(new VisionIO[]{io});
+        // Driven loop by loop below, never by the scheduler.
+        CommandScheduler.getInstance().unregisterSubsystem(vision);
+    }
+
+    @AfterEach
+    void teardown() {
+        io.close();
+        SimHooks.resumeTiming();
+    }
+
+    @Test
+    void measuresTheDistanceToTheTargetFromAKnownPose() throws InterruptedException {
+        for (int i = 0; i < MAX_LOOPS && vision.getAccepted() < MIN_ACCEPTED; i++) {
+            SimHooks.stepTiming(LOOP_PERIOD);
+            vision.periodic();
+            // The camera is polled on its own thread in real time, give it a chance to pick up each frame.
+            Thread.sleep(10);
+        }
+
+        assertTrue(vision.getAccepted() >= MIN_ACCEPTED, "Accepted " + vision.getAccepted() + " estimates");
+        assertTrue(vision.hasTarget());
+        assertEquals(POSE.getX(), vision.getX(), POSITION_TOLERANCE);
+        assertEquals(POSE.getY(), vision.getY(), POSITION_TOLERANCE);
+
+        double expected = Math.hypot(BLUE_TARGET.getX() - POSE.getX(), BLUE_TARGET.getY() - POSE.getY());
+        assertEquals(expected, vision.getDistanceToTarget(), POSITION_TOLERANCE);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Tahoma Robotics
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.tahomarobotics.robot.vision;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tahomarobotics.robot.vision.VisionConstants.*;
+
+/**
+ * Feeds hand-made estimates through {@link Vision} on a paused clock, covering each rejection path and what happens once
+ * estimates stop.
+ */
+class VisionTest {
+    private static final double LOOP_PERIOD = 0.02;
+    /** Long enough for the stationary history to cover any accepted estimate's age. */
+    private static final double SETTLE_SECONDS = 1;
+    private static final double EPSILON = 1e-9;
+
+    private static final double X = 2, Y = 4, HEADING = 0.5;
+    /** Capture latency of the estimates fed in. */
+    private static final double LATENCY = 0.05;
+
+    private final FakeVisionIO io = new FakeVisionIO();
+    private Vision vision;
+
+    @BeforeAll
+    static void initialize() {
+        HAL.initialize(500, 0);
+    }
+
+    @BeforeEach
+    void setup() {
+        SimHooks.pauseTiming();
+        DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        DriverStationSim.notifyNewData();
+
+        vision = new Vision(new VisionIO[]{io});
+        // Driven loop by loop below, never by the scheduler.
+        CommandScheduler.getInstance().unregisterSubsystem(vision);
+        step(SETTLE_SECONDS);
+    }
+
+    @AfterEach
+    void teardown() {
+        SimHooks.resumeTiming();
+    }
+
+    @Test
+    void acceptsAGoodEstimate() {
+        observe(now() - LATENCY, X, Y, 0, 0, 2, 2);
+        step(LOOP_PERIOD);
+
+        assertEquals(1, vision.getAccepted());
+        assertTrue(vision.hasTarget());
+        assertEquals(X, vision.getX(), EPSILON);
+        assertEquals(Y, vision.getY(), EPSILON);
+        assertEquals(HEADING, vision.getHeading(), EPSILON);
+        assertEquals(Math.hypot(BLUE_TARGET.getX() - X, BLUE_TARGET.getY() - Y), vision.getDistanceToTarget(), EPSILON);
+    }
+
+    @Test
+    void rejectsAmbiguousSingleTagEstimates() {
+        observe(now() - LATENCY, X, Y, 0, MAX_AMBIGUITY * 2, 1, 2);
+        observe(now() - LATENCY, X, Y, 0, 0, 0, 2);
+        step(LOOP_PERIOD);
+
+        assertEquals(2, vision.getRejectedAmbiguity());
+        assertRejected();
+    }
+
+    @Test
+    void acceptsAmbiguityOnlyFromMultiTagEstimates() {
+        observe(now() - LATENCY, X, Y, 0, MAX_AMBIGUITY * 2, 2, 2);
+        step(LOOP_PERIOD);
+
+        assertEquals(0, vision.getRejectedAmbiguity());
+        assertEquals(1, vision.getAccepted());
+    }
+
+    @Test
+    void rejectsEstimatesOffTheFieldOrFloor() {
+        observe(now() - LATENCY, -1, Y, 0, 0, 2, 2);
+        observe(now() - LATENCY, X, FIELD_LAYOUT.getFieldWidth() + 1, 0, 0, 2, 2);
+        observe(now() - LATENCY, X, Y, MAX_Z_ERROR * 2, 0, 2, 2);
+        observe(now() - LATENCY, Double.NaN, Y, 0, 0, 2, 2);
+        step(LOOP_PERIOD);
+
+        assertEquals(4, vision.getRejectedBounds());
+        assertRejected();
+    }
+
+    @Test
+    void rejectsEstimatesFromDistantTags() {
+        observe(now() - LATENCY, X, Y, 0, 0, 2, MAX_TAG_DISTANCE + 1);
+        step(LOOP_PERIOD);
+
+        assertEquals(1, vision.getRejectedDistance());
+        assertRejected();
+    }
+
+    @Test
+    void rejectsStaleAndFutureEstimates() {
+        observe(now() - MAX_OBSERVATION_AGE, X, Y, 0, 0, 2, 2);
+        observe(now() + 1, X, Y, 0, 0, 2, 2);
+        step(LOOP_PERIOD);
+
+        assertEquals(2, vision.getRejectedAge());
+        assertRejected();
+    }
+
+    @Test
+    void distanceIsNaNOnceEstimatesStop() {
+        observe(now() - LATENCY, X, Y, 0, 0, 2, 2);
+        step(LOOP_PERIOD);
+        assertFalse(Double.isNaN(vision.getDistanceToTarget()));
+
+        // Still fresh just inside the age limit.
+        step(MAX_OBSERVATION_AGE - LATENCY - 2 * LOOP_PERIOD);
+        assertFalse(Double.isNaN(vision.getDistanceToTarget()));
+
+        step(4 * LOOP_PERIOD);
+        assertFalse(vision.hasTarget());
+        assertTrue(Double.isNaN(vision.getDistanceToTarget()));
+
+        // The pose estimate itself is kept, only the distance the shooter aims from is withheld.
+        assertEquals(X, vision.getX(), EPSILON);
+
+        observe(now() - LATENCY, X, Y, 0, 0, 2, 2);
+        step(LOOP_PERIOD);
+        assertFalse(Double.isNaN(vision.getDistanceToTarget()));
+    }
+
+    // -- Helpers --
+
+    private void assertRejected() {
+        assertEquals(0, vision.getAccepted());
+        assertFalse(vision.hasTarget());
+        assertTrue(Double.isNaN(vision.getDistanceToTarget()));
+    }
+
+    private static double now() {
+        return Timer.getFPGATimestamp();
+    }
+
+    private void observe(double timestamp, double x, double y, double z, double ambiguity, int tags, double distance) {
+        io.observe(timestamp, x, y, z, HEADING, ambiguity, tags, distance);
+    }
+
+    private void step(double seconds) {
+        for (double t = 0; t < seconds - EPSILON; t += LOOP_PERIOD) {
+            SimHooks.stepTiming(LOOP_PERIOD);
+            vision.periodic();
+        }
+    }
+
+    /**
+     * Hands over whatever observations were queued since the last loop.
+     */
+    private static final class FakeVisionIO implements VisionIO {
+        private final VisionIOInputs queued = new VisionIOInputs();
+
+        void observe(double timestamp, double x, double y, double z, double heading, double ambiguity, int tags,
+                     double distance) {
+            int i = queued.observationCount++;
+            queued.timestamps[i] = timestamp;
+            queued.x[i] = x;
+            queued.y[i] = y;
+            queued.z[i] = z;
+            queued.heading[i] = heading;
+            queued.ambiguity[i] = ambiguity;
+            queued.tagCount[i] = tags;
+            queued.averageTagDistance[i] = distance;
+        }
+
+        @Override
+        public void updateInputs(VisionIOInputs inputs) {
+            int count = queued.observationCount;
+            inputs.connected = true;
+            inputs.observationCount = count;
+            System.arraycopy(queued.timestamps, 0, inputs.timestamps, 0, count);
+            System.arraycopy(queued.x, 0, inputs.x, 0, count);
+            System.arraycopy(queued.y, 0, inputs.y, 0, count);
+            System.arraycopy(queued.z, 0, inputs.z, 0, count);
+            System.arraycopy(queued.heading, 0, inputs.heading, 0, count);
+            System.arraycopy(queued.ambiguity, 0, inputs.ambiguity, 0, count);
+            System.arraycopy(queued.tagCount, 0, inputs.tagCount, 0, count);
+            System.arraycopy(queued.averageTagDistance, 0, inputs.averageTagDistance, 0, count);
+            queued.observationCount = 0;
+        }
+    }
+}